@@ -1,28 +1,58 @@
 package com.support.client;
 
+import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.support.dto.AuthResponse;
+import com.support.dto.ChangeEventDTO;
+import com.support.dto.CursorPage;
 import com.support.dto.CreateTicketRequest;
+import com.support.dto.LoginRequest;
+import com.support.dto.TicketChangesDTO;
 import com.support.dto.TicketDTO;
+import com.support.dto.TicketFilter;
 import com.support.entity.Ticket;
 import com.support.dto.CommentDTO;
+import com.support.dto.CommentPage;
 import com.support.dto.AddCommentRequest;
 
 import java.io.IOException;
 import java.net.URI;
+import java.net.URLEncoder;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.util.Arrays;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Base64;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
 
 public class ApiClient {
     private static final String BASE_URL = "http://localhost:8080/api";
     private static HttpClient httpClient = HttpClient.newHttpClient();
     private static final ObjectMapper objectMapper = new ObjectMapper()
         .registerModule(new com.fasterxml.jackson.datatype.jsr310.JavaTimeModule());
+    // Refresh the access token this long before it expires
+    private static final Duration TOKEN_REFRESH_MARGIN = Duration.ofMinutes(1);
     private static String credentials;
+    private static Instant tokenExpiresAt;
     private static String currentUserRole;
+    // Last response per URL with its ETag; a refresh sends the tag and reuses the body on 304
+    private static final int MAX_VALIDATED_RESPONSES = 200;
+    private static final Map<URI, ValidatedResponse> validatedResponses =
+        Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<URI, ValidatedResponse> eldest) {
+                return size() > MAX_VALIDATED_RESPONSES;
+            }
+        });
+
+    private record ValidatedResponse(String etag, String body) {
+    }
 
     // For testing purposes
     static void setHttpClient(HttpClient client) {
@@ -30,6 +60,8 @@ public class ApiClient {
     }
 
     public static void setCredentials(String username, String password) {
+        tokenExpiresAt = null;
+        validatedResponses.clear();
         if (username == null || password == null) {
             credentials = null;
             currentUserRole = null;
@@ -40,6 +72,57 @@ public class ApiClient {
         currentUserRole = null; // Reset role when credentials change
     }
 
+    /**
+     * Exchanges username and password for a short-lived access token, so later calls
+     * send a bearer token instead of credentials the server has to hash every time.
+     */
+    public static void login(String username, String password) throws IOException, InterruptedException {
+        LoginRequest loginRequest = new LoginRequest();
+        loginRequest.setUsername(username);
+        loginRequest.setPassword(password);
+
+        HttpRequest request = HttpRequest.newBuilder()
+            .uri(URI.create(BASE_URL + "/auth/login"))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(loginRequest)))
+            .build();
+
+        HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+
+        if (response.statusCode() != 200) {
+            setCredentials(null, null);
+            throw new IOException("Login failed: " + response.statusCode());
+        }
+
+        applyToken(objectMapper.readValue(response.body(), AuthResponse.class));
+    }
+
+    private static void applyToken(AuthResponse auth) {
+        credentials = auth.getTokenType() + " " + auth.getAccessToken();
+        tokenExpiresAt = auth.getExpiresAt();
+        currentUserRole = auth.getUser() != null && auth.getUser().getRole() != null
+            ? auth.getUser().getRole().name()
+            : null;
+    }
+
+    private static String authorization() throws IOException, InterruptedException {
+        if (tokenExpiresAt != null && Instant.now().isAfter(tokenExpiresAt.minus(TOKEN_REFRESH_MARGIN))) {
+            HttpRequest request = HttpRequest.newBuilder()
+                .uri(URI.create(BASE_URL + "/auth/refresh"))
+                .header("Authorization", credentials)
+                .POST(HttpRequest.BodyPublishers.noBody())
+                .build();
+
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+
+            if (response.statusCode() != 200) {
+                throw new IOException("Session expired, please log in again");
+            }
+            applyToken(objectMapper.readValue(response.body(), AuthResponse.class));
+        }
+        return credentials;
+    }
+
     public static String getCurrentUserRole() throws IOException, InterruptedException {
         if (credentials == null) {
             throw new IllegalStateException("No credentials set. Please log in first.");
@@ -49,7 +132,7 @@ public class ApiClient {
             try {
                 HttpRequest request = HttpRequest.newBuilder()
                     .uri(URI.create(BASE_URL + "/users/current"))
-                    .header("Authorization", credentials)
+                    .header("Authorization", authorization())
                     .GET()
                     .build();
 
@@ -82,24 +165,18 @@ public class ApiClient {
     }
 
     public static List<TicketDTO> getTickets() throws IOException, InterruptedException {
+        return getTicketsPage(null).getItems();
+    }
+
+    public static CursorPage<TicketDTO> getTicketsPage(String cursor) throws IOException, InterruptedException {
         if (credentials == null) {
             throw new IllegalStateException("No credentials set. Please log in first.");
         }
 
         try {
-            HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(BASE_URL + "/tickets"))
-                .header("Authorization", credentials)
-                .GET()
-                .build();
-
-            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
-
-            if (response.statusCode() == 200) {
-                return Arrays.asList(objectMapper.readValue(response.body(), TicketDTO[].class));
-            } else {
-                throw new IOException("Failed to get tickets: " + response.statusCode());
-            }
+            String query = cursor == null ? "" : "?cursor=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8);
+            String body = getValidated(URI.create(BASE_URL + "/tickets" + query), "Failed to get tickets");
+            return objectMapper.readValue(body, new TypeReference<CursorPage<TicketDTO>>() {});
         } catch (Exception e) {
             if (e instanceof IllegalStateException) {
                 throw (IllegalStateException) e;
@@ -108,6 +185,71 @@ public class ApiClient {
         }
     }
 
+    /**
+     * Fetches one page of tickets matching the filter; the server applies every criterion.
+     */
+    public static CursorPage<TicketDTO> filterTickets(TicketFilter filter, String cursor) throws IOException, InterruptedException {
+        if (credentials == null) {
+            throw new IllegalStateException("No credentials set. Please log in first.");
+        }
+
+        StringBuilder query = new StringBuilder();
+        appendParam(query, "ticketId", filter.getTicketId());
+        appendParam(query, "status", filter.getStatus());
+        appendParam(query, "priority", filter.getPriority());
+        appendParam(query, "category", filter.getCategory());
+        appendParam(query, "createdBy", filter.getCreatedBy());
+        appendParam(query, "createdFrom", filter.getCreatedFrom());
+        appendParam(query, "createdTo", filter.getCreatedTo());
+        appendParam(query, "q", filter.getQ());
+        appendParam(query, "cursor", cursor);
+
+        String body = getValidated(URI.create(BASE_URL + "/tickets/filter" + query), "Failed to get tickets");
+        return objectMapper.readValue(body, new TypeReference<CursorPage<TicketDTO>>() {});
+    }
+
+    /**
+     * GETs a resource, sending the ETag of the last response for the same URL as If-None-Match.
+     * On 304 that response's body is reused, so an unchanged refresh only costs the headers.
+     */
+    private static String getValidated(URI uri, String failureMessage) throws IOException, InterruptedException {
+        ValidatedResponse cached = validatedResponses.get(uri);
+        HttpRequest.Builder request = HttpRequest.newBuilder()
+            .uri(uri)
+            .header("Authorization", authorization())
+            .GET();
+        if (cached != null) {
+            request.header("If-None-Match", cached.etag());
+        }
+
+        HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+
+        if (response.statusCode() == 304 && cached != null) {
+            return cached.body();
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException(failureMessage + ": " + response.statusCode());
+        }
+
+        String etag = response.headers().firstValue("ETag").orElse(null);
+        if (etag != null) {
+            validatedResponses.put(uri, new ValidatedResponse(etag, response.body()));
+        } else {
+            validatedResponses.remove(uri);
+        }
+        return response.body();
+    }
+
+    private static void appendParam(StringBuilder query, String name, Object value) {
+        if (value == null || value.toString().isBlank()) {
+            return;
+        }
+        query.append(query.length() == 0 ? '?' : '&')
+            .append(name)
+            .append('=')
+            .append(URLEncoder.encode(value.toString(), StandardCharsets.UTF_8));
+    }
+
     public static TicketDTO createTicket(CreateTicketRequest ticketRequest) throws IOException, InterruptedException {
         if (credentials == null) {
             throw new IllegalStateException("No credentials set. Please log in first.");
@@ -117,7 +259,7 @@ public class ApiClient {
 
         HttpRequest request = HttpRequest.newBuilder()
             .uri(URI.create(BASE_URL + "/tickets"))
-            .header("Authorization", credentials)
+            .header("Authorization", authorization())
             .header("Content-Type", "application/json")
             .POST(HttpRequest.BodyPublishers.ofString(json))
             .build();
@@ -132,18 +274,34 @@ public class ApiClient {
     }
 
     public static TicketDTO updateTicketStatus(Long ticketId, Ticket.Status status) throws IOException, InterruptedException {
+        return updateTicketStatus(ticketId, status, null);
+    }
+
+    /**
+     * Moves a ticket to a new status, but only while it is still in expectedStatus (when given),
+     * so a change made meanwhile by another agent is reported instead of overwritten.
+     */
+    public static TicketDTO updateTicketStatus(Long ticketId, Ticket.Status status, Ticket.Status expectedStatus)
+            throws IOException, InterruptedException {
         if (credentials == null) {
             throw new IllegalStateException("No credentials set. Please log in first.");
         }
 
+        StringBuilder query = new StringBuilder();
+        appendParam(query, "status", status);
+        appendParam(query, "expectedStatus", expectedStatus);
+
         HttpRequest request = HttpRequest.newBuilder()
-            .uri(URI.create(BASE_URL + "/tickets/" + ticketId + "/status?status=" + status))
-            .header("Authorization", credentials)
+            .uri(URI.create(BASE_URL + "/tickets/" + ticketId + "/status" + query))
+            .header("Authorization", authorization())
             .PUT(HttpRequest.BodyPublishers.noBody())
             .build();
 
         HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
 
+        if (response.statusCode() == 409) {
+            throw new IOException("The ticket was changed by someone else. Refresh and try again.");
+        }
         if (response.statusCode() != 200) {
             throw new IOException("Failed to update ticket status: " + response.statusCode());
         }
@@ -164,7 +322,7 @@ public class ApiClient {
 
         HttpRequest httpRequest = HttpRequest.newBuilder()
             .uri(URI.create(BASE_URL + "/comments"))
-            .header("Authorization", credentials)
+            .header("Authorization", authorization())
             .header("Content-Type", "application/json")
             .POST(HttpRequest.BodyPublishers.ofString(json))
             .build();
@@ -178,23 +336,78 @@ public class ApiClient {
         return objectMapper.readValue(response.body(), CommentDTO.class);
     }
 
-    public static List<CommentDTO> getCommentsForTicket(Long ticketId) throws IOException, InterruptedException {
+    /**
+     * Fetches one page of a ticket's comments, newest first, with the ticket's total comment count.
+     */
+    public static CommentPage getCommentsForTicket(Long ticketId, String cursor) throws IOException, InterruptedException {
+        if (credentials == null) {
+            throw new IllegalStateException("No credentials set. Please log in first.");
+        }
+
+        StringBuilder query = new StringBuilder();
+        appendParam(query, "cursor", cursor);
+
+        String body = getValidated(URI.create(BASE_URL + "/comments/ticket/" + ticketId + query),
+            "Failed to get comments");
+        return objectMapper.readValue(body, CommentPage.class);
+    }
+
+    /**
+     * Fetches one page of tickets changed after {@code since}; null since starts a full sync.
+     * Keep following nextCursor, then store highWaterMark as the next since.
+     */
+    public static TicketChangesDTO getTicketChanges(Long since, String cursor) throws IOException, InterruptedException {
         if (credentials == null) {
             throw new IllegalStateException("No credentials set. Please log in first.");
         }
 
+        StringBuilder query = new StringBuilder();
+        appendParam(query, "since", since);
+        appendParam(query, "cursor", cursor);
+
         HttpRequest request = HttpRequest.newBuilder()
-            .uri(URI.create(BASE_URL + "/comments/ticket/" + ticketId))
-            .header("Authorization", credentials)
+            .uri(URI.create(BASE_URL + "/tickets/changes" + query))
+            .header("Authorization", authorization())
             .GET()
             .build();
 
         HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
 
-        if (response.statusCode() == 200) {
-            return Arrays.asList(objectMapper.readValue(response.body(), CommentDTO[].class));
-        } else {
-            throw new IOException("Failed to get comments: " + response.statusCode());
+        if (response.statusCode() != 200) {
+            throw new IOException("Failed to get ticket changes: " + response.statusCode());
         }
+
+        return objectMapper.readValue(response.body(), TicketChangesDTO.class);
+    }
+
+    /**
+     * Opens the server's change stream. The caller reads it line by line and must close the
+     * stream; pass the id of the last event received to resume after it.
+     */
+    public static HttpResponse<Stream<String>> openEventStream(String lastEventId) throws IOException, InterruptedException {
+        if (credentials == null) {
+            throw new IllegalStateException("No credentials set. Please log in first.");
+        }
+
+        HttpRequest.Builder request = HttpRequest.newBuilder()
+            .uri(URI.create(BASE_URL + "/events"))
+            .header("Authorization", authorization())
+            .header("Accept", "text/event-stream")
+            .GET();
+        if (lastEventId != null) {
+            request.header("Last-Event-ID", lastEventId);
+        }
+
+        HttpResponse<Stream<String>> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofLines());
+
+        if (response.statusCode() != 200) {
+            response.body().close();
+            throw new IOException("Failed to open event stream: " + response.statusCode());
+        }
+        return response;
+    }
+
+    public static ChangeEventDTO parseChangeEvent(String json) throws IOException {
+        return objectMapper.readValue(json, ChangeEventDTO.class);
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,125 @@
+package com.support.client;
+
+import com.support.dto.ChangeEventDTO;
+
+import javax.swing.SwingUtilities;
+import java.net.http.HttpResponse;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Follows the server's change stream on a background thread and hands each change to the
+ * listener on the Swing event thread. Reconnects after a drop, resuming after the last event
+ * received, so nothing is missed while the connection is down.
+ */
+public class EventStream {
+    private static final long RECONNECT_DELAY_MS = 2000;
+
+    public interface Listener {
+        void onChange(ChangeEventDTO change);
+
+        // The server can no longer replay what was missed; reload everything
+        void onReset();
+    }
+
+    private final Listener listener;
+    private volatile boolean running;
+    private volatile Stream<String> current;
+    private Thread thread;
+    private String lastEventId;
+
+    public EventStream(Listener listener) {
+        this.listener = listener;
+    }
+
+    public synchronized void start() {
+        if (running) {
+            return;
+        }
+        running = true;
+        thread = new Thread(this::run, "event-stream");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public synchronized void stop() {
+        running = false;
+        lastEventId = null;
+        Stream<String> stream = current;
+        if (stream != null) {
+            stream.close();
+        }
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                HttpResponse<Stream<String>> response = ApiClient.openEventStream(lastEventId);
+                try (Stream<String> lines = response.body()) {
+                    current = lines;
+                    read(lines.iterator());
+                } finally {
+                    current = null;
+                }
+            } catch (InterruptedException e) {
+                return;
+            } catch (Exception e) {
+                // Server restarting, network drop or expired session: try again shortly
+            }
+            try {
+                Thread.sleep(RECONNECT_DELAY_MS);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    // One event per blank-line-terminated block of "field: value" lines
+    private void read(Iterator<String> lines) throws Exception {
+        String id = null;
+        String name = null;
+        StringBuilder data = new StringBuilder();
+        while (running && lines.hasNext()) {
+            String line = lines.next();
+            if (line.isEmpty()) {
+                dispatch(name, data.toString());
+                if (id != null) {
+                    lastEventId = id;
+                }
+                id = null;
+                name = null;
+                data.setLength(0);
+            } else if (line.startsWith("id:")) {
+                id = value(line);
+            } else if (line.startsWith("event:")) {
+                name = value(line);
+            } else if (line.startsWith("data:")) {
+                if (data.length() > 0) {
+                    data.append('\n');
+                }
+                data.append(value(line));
+            }
+            // Lines starting with ':' are keep-alive comments
+        }
+    }
+
+    private void dispatch(String name, String data) throws Exception {
+        if (name == null) {
+            return;
+        }
+        if ("reset".equals(name)) {
+            SwingUtilities.invokeLater(listener::onReset);
+            return;
+        }
+        ChangeEventDTO change = ApiClient.parseChangeEvent(data);
+        SwingUtilities.invokeLater(() -> listener.onChange(change));
+    }
+
+    private static String value(String line) {
+        String value = line.substring(line.indexOf(':') + 1);
+        return value.startsWith(" ") ? value.substring(1) : value;
+    }
+}
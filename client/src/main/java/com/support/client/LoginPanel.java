@@ -110,12 +110,9 @@ public class LoginPanel extends JPanel {
             return;
         }
 
-        // Store credentials for API calls
-        ApiClient.setCredentials(username, password);
-
-        // Try to get tickets to verify credentials
+        // Exchange credentials for an access token used by later API calls
         try {
-            ApiClient.getTickets();
+            ApiClient.login(username, password);
             client.showTicketListPanel();
         } catch (Exception ex) {
             showErrorDialog("Invalid credentials. Please try again.");
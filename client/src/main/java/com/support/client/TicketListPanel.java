@@ -1,8 +1,12 @@
 package com.support.client;
 
+import com.support.dto.ChangeEventDTO;
 import com.support.dto.CommentDTO;
+import com.support.dto.CommentPage;
 import com.support.dto.CreateTicketRequest;
+import com.support.dto.CursorPage;
 import com.support.dto.TicketDTO;
+import com.support.dto.TicketFilter;
 import com.support.entity.Ticket;
 import net.miginfocom.swing.MigLayout;
 
@@ -36,12 +40,28 @@ public class TicketListPanel extends JPanel {
     private final JPanel toolbarPanel;
     private final JTextField searchField;
     private final JPanel filterPanel;
+    private final JButton loadMoreButton;
     private List<TicketDTO> allTickets;
+    private String nextCursor;
     private static final String ALL_STATUSES = "All";
+    // Wait for typing to pause before asking the server again
+    private static final int FILTER_DELAY_MS = 300;
+    private final Timer filterTimer;
+    private final EventStream eventStream = new EventStream(new EventStream.Listener() {
+        @Override
+        public void onChange(ChangeEventDTO change) {
+            applyChange(change);
+        }
+
+        @Override
+        public void onReset() {
+            loadTickets(null);
+        }
+    });
 
     public TicketListPanel(SupportClient client, boolean loadImmediately) {
         this.client = client;
-        setLayout(new MigLayout("fill, insets 20", "[grow]", "[]10[]10[]10[grow]"));
+        setLayout(new MigLayout("fill, insets 20", "[grow]", "[]10[]10[grow]10[]"));
         setBackground(BACKGROUND_COLOR);
 
         // Create header panel
@@ -60,6 +80,8 @@ public class TicketListPanel extends JPanel {
         refreshButton = createStyledButton("Refresh", new Color(100, 100, 100), false);
         updateStatusButton = createStyledButton("Update Status", PRIMARY_COLOR, false);
         logoutButton = createStyledButton("Logout", new Color(190, 190, 190), false);
+        loadMoreButton = createStyledButton("Load More", new Color(100, 100, 100), false);
+        loadMoreButton.setVisible(false);
 
         toolbarPanel.add(refreshButton);
         toolbarPanel.add(logoutButton, "gap push");
@@ -76,9 +98,9 @@ public class TicketListPanel extends JPanel {
         searchField = new JTextField(15);
         searchField.setFont(new Font("Segoe UI", Font.PLAIN, 14));
         searchField.setMargin(new Insets(5, 10, 5, 10));
-        searchField.setToolTipText("Search by Ticket ID");
+        searchField.setToolTipText("Ticket ID or keywords");
         
-        JLabel searchLabel = createStyledLabel("Search ID:");
+        JLabel searchLabel = createStyledLabel("Search:");
         JLabel filterLabel = createStyledLabel("Status:");
 
         // Create status filter
@@ -98,7 +120,7 @@ public class TicketListPanel extends JPanel {
         filterPanel.add(statusFilter);
 
         // Create table with modern styling
-        String[] columnNames = {"ID", "Title", "Description", "Priority", "Category", "Status", "Created By", "Creation Date"};
+        String[] columnNames = {"ID", "Title", "Description", "Priority", "Category", "Status", "Created By", "Creation Date", "Comments", "Last Activity"};
         tableModel = new DefaultTableModel(columnNames, 0) {
             @Override
             public boolean isCellEditable(int row, int column) {
@@ -141,9 +163,11 @@ public class TicketListPanel extends JPanel {
         
         add(headerPanel, "growx, wrap");
         add(filterPanel, "growx, wrap");
-        add(scrollPane, "grow");
+        add(scrollPane, "grow, wrap");
+        add(loadMoreButton, "center, width 120!");
 
         // Add listeners
+        filterTimer = new Timer(FILTER_DELAY_MS, e -> loadTickets(null));
         setupListeners();
 
         // Initial load if requested
@@ -192,6 +216,8 @@ public class TicketListPanel extends JPanel {
         ticketTable.getColumnModel().getColumn(5).setPreferredWidth(100); // Status
         ticketTable.getColumnModel().getColumn(6).setPreferredWidth(100); // Created By
         ticketTable.getColumnModel().getColumn(7).setPreferredWidth(150); // Creation Date
+        ticketTable.getColumnModel().getColumn(8).setPreferredWidth(80);  // Comments
+        ticketTable.getColumnModel().getColumn(9).setPreferredWidth(150); // Last Activity
 
         // Center all columns except Description
         CenteredTableCellRenderer centeredRenderer = new CenteredTableCellRenderer();
@@ -200,6 +226,8 @@ public class TicketListPanel extends JPanel {
         ticketTable.getColumnModel().getColumn(4).setCellRenderer(centeredRenderer); // Category
         ticketTable.getColumnModel().getColumn(6).setCellRenderer(centeredRenderer); // Created By
         ticketTable.getColumnModel().getColumn(7).setCellRenderer(centeredRenderer); // Creation Date
+        ticketTable.getColumnModel().getColumn(8).setCellRenderer(centeredRenderer); // Comments
+        ticketTable.getColumnModel().getColumn(9).setCellRenderer(centeredRenderer); // Last Activity
 
         // Custom renderer for status column (already centered)
         ticketTable.getColumnModel().getColumn(5).setCellRenderer(new StatusColumnRenderer());
@@ -216,8 +244,10 @@ public class TicketListPanel extends JPanel {
     }
 
     private void setupListeners() {
+        filterTimer.setRepeats(false);
         createTicketButton.addActionListener(e -> client.showCreateTicketPanel());
         refreshButton.addActionListener(e -> refreshTickets());
+        loadMoreButton.addActionListener(e -> loadMoreTickets());
         statusFilter.addActionListener(e -> applyFilters());
         updateStatusButton.addActionListener(e -> updateSelectedTicketStatus());
         logoutButton.addActionListener(e -> handleLogout());
@@ -391,9 +421,10 @@ public class TicketListPanel extends JPanel {
             toolbarPanel.revalidate();
             toolbarPanel.repaint();
 
-            // Get and store all tickets
-            allTickets = ApiClient.getTickets();
-            applyFilters();
+            // Subscribe before loading so no change falls between the two
+            eventStream.start();
+            // Get and store the first page of tickets
+            loadTickets(null);
         } catch (Exception ex) {
             JOptionPane.showMessageDialog(this,
                 "Failed to load tickets: " + ex.getMessage(),
@@ -402,32 +433,63 @@ public class TicketListPanel extends JPanel {
         }
     }
 
+    private void loadMoreTickets() {
+        if (nextCursor == null) return;
+        loadTickets(nextCursor);
+    }
+
+    /**
+     * Loads a page matching the current filters. A null cursor starts over from the first page.
+     */
+    private void loadTickets(String cursor) {
+        try {
+            CursorPage<TicketDTO> page = ApiClient.filterTickets(currentFilter(), cursor);
+            if (cursor == null) {
+                allTickets = new ArrayList<>(page.getItems());
+            } else {
+                allTickets.addAll(page.getItems());
+            }
+            updateNextCursor(page.getNextCursor());
+            renderTickets();
+        } catch (Exception ex) {
+            JOptionPane.showMessageDialog(this,
+                "Failed to load tickets: " + ex.getMessage(),
+                "Error",
+                JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    private void updateNextCursor(String cursor) {
+        nextCursor = cursor;
+        loadMoreButton.setVisible(cursor != null);
+    }
+
     private void applyFilters() {
         if (allTickets == null) return;
+        filterTimer.restart();
+    }
+
+    private TicketFilter currentFilter() {
+        TicketFilter filter = new TicketFilter();
 
         String searchText = searchField.getText().trim();
-        String selectedStatus = (String) statusFilter.getSelectedItem();
-        
-        // Create a new list for filtered tickets
-        List<TicketDTO> filteredTickets = new ArrayList<>();
-        
-        for (TicketDTO ticket : allTickets) {
-            boolean matchesSearch = searchText.isEmpty() || 
-                                  String.valueOf(ticket.getId()).contains(searchText);
-            boolean matchesStatus = ALL_STATUSES.equals(selectedStatus) || 
-                                  selectedStatus.equals(ticket.getStatus().name());
+        if (searchText.matches("\\d{1,18}")) {
+            filter.setTicketId(Long.valueOf(searchText));
+        } else if (!searchText.isEmpty()) {
+            filter.setQ(searchText);
+        }
 
-            if (matchesSearch && matchesStatus) {
-                filteredTickets.add(ticket);
-            }
+        String selectedStatus = (String) statusFilter.getSelectedItem();
+        if (selectedStatus != null && !ALL_STATUSES.equals(selectedStatus)) {
+            filter.setStatus(Ticket.Status.valueOf(selectedStatus));
         }
+        return filter;
+    }
 
-        // Sort filtered tickets by creation date (newest first)
-        filteredTickets.sort((t1, t2) -> t2.getCreationDate().compareTo(t1.getCreationDate()));
-        
-        // Update table model
+    private void renderTickets() {
+        // The server already returns tickets newest first
         tableModel.setRowCount(0);
-        for (TicketDTO ticket : filteredTickets) {
+        for (TicketDTO ticket : allTickets) {
             Object[] row = {
                 ticket.getId(),
                 ticket.getTitle(),
@@ -436,12 +498,49 @@ public class TicketListPanel extends JPanel {
                 ticket.getCategory().name(),
                 ticket.getStatus().name(),
                 ticket.getCreatedByUsername(),
-                ticket.getCreationDate()
+                ticket.getCreationDate(),
+                ticket.getCommentCount(),
+                ticket.getLastActivityAt()
             };
             tableModel.addRow(row);
         }
     }
 
+    /**
+     * Patches the loaded rows with a change pushed by the server instead of reloading the list.
+     */
+    private void applyChange(ChangeEventDTO change) {
+        if (allTickets == null) return;
+
+        if (change.getType() == ChangeEventDTO.Type.TICKET_CREATED) {
+            // Only the unfiltered list is known to include every new ticket at the top
+            if (searchField.getText().isBlank() && ALL_STATUSES.equals(statusFilter.getSelectedItem())) {
+                allTickets.add(0, change.getTicket());
+                renderTickets();
+            }
+            return;
+        }
+
+        // Rows are in the same order as allTickets; update cells in place to keep the selection
+        for (int row = 0; row < allTickets.size(); row++) {
+            TicketDTO ticket = allTickets.get(row);
+            if (!ticket.getId().equals(change.getTicketId())) continue;
+            if (change.getStatus() != null) {
+                ticket.setStatus(change.getStatus());
+                tableModel.setValueAt(ticket.getStatus().name(), row, 5);
+            }
+            if (change.getCommentCount() != null) {
+                ticket.setCommentCount(change.getCommentCount());
+                tableModel.setValueAt(ticket.getCommentCount(), row, 8);
+            }
+            if (change.getLastActivityAt() != null) {
+                ticket.setLastActivityAt(change.getLastActivityAt());
+                tableModel.setValueAt(ticket.getLastActivityAt(), row, 9);
+            }
+            return;
+        }
+    }
+
     private void showTicketDetails() {
         int selectedRow = ticketTable.getSelectedRow();
         if (selectedRow == -1) return;
@@ -557,7 +656,7 @@ public class TicketListPanel extends JPanel {
                     Ticket.Status newStatus = (Ticket.Status) statusComboBox.getSelectedItem();
                     if (newStatus != Ticket.Status.valueOf(status)) {
                         try {
-                            ApiClient.updateTicketStatus(id, newStatus);
+                            ApiClient.updateTicketStatus(id, newStatus, Ticket.Status.valueOf(status));
                             statusLabel.setText(newStatus.name());
                             // Update status label colors
                             switch (newStatus.name()) {
@@ -633,18 +732,10 @@ public class TicketListPanel extends JPanel {
         commentsScrollPane.setBorder(BorderFactory.createLineBorder(new Color(230, 230, 230), 1));
         commentsScrollPane.getVerticalScrollBar().setUnitIncrement(16);
 
-        // Load and display comments
-        try {
-            List<CommentDTO> comments = ApiClient.getCommentsForTicket(id);
-            for (CommentDTO comment : comments) {
-                JPanel commentPanel = createCommentPanel(comment);
-                commentsListPanel.add(commentPanel, "growx, wrap");
-            }
-        } catch (Exception ex) {
-            JLabel errorLabel = new JLabel("Failed to load comments: " + ex.getMessage());
-            errorLabel.setForeground(Color.RED);
-            commentsListPanel.add(errorLabel, "growx");
-        }
+        // Load the first page of comments; further pages are fetched on demand
+        JLabel commentsHeader = new JLabel("Comments");
+        CommentPager commentPager = new CommentPager(id, commentsListPanel, commentsHeader);
+        commentPager.loadNextPage();
 
         // Add Comment Form
         JPanel addCommentPanel = new JPanel(new MigLayout("fillx, insets 10", "[grow][]", "[]"));
@@ -670,10 +761,7 @@ public class TicketListPanel extends JPanel {
                     commentArea.setText("");
                     
                     // Add new comment to the list
-                    JPanel commentPanel = createCommentPanel(newComment);
-                    commentsListPanel.add(commentPanel, "growx, wrap", 0);
-                    commentsListPanel.revalidate();
-                    commentsListPanel.repaint();
+                    commentPager.prepend(newComment);
                     
                     // Scroll to top to show new comment
                     SwingUtilities.invokeLater(() -> {
@@ -692,7 +780,7 @@ public class TicketListPanel extends JPanel {
         addCommentPanel.add(addCommentButton, "width 120!");
 
         // Add components to comments panel
-        commentsPanel.add(new JLabel("Comments"), "wrap");
+        commentsPanel.add(commentsHeader, "wrap");
         commentsPanel.add(commentsScrollPane, "grow, wrap");
         commentsPanel.add(addCommentPanel, "growx");
 
@@ -721,6 +809,61 @@ public class TicketListPanel extends JPanel {
         dialog.setVisible(true);
     }
 
+    /**
+     * Shows a ticket's comments one server page at a time, with a "Load More" button below the
+     * last loaded comment while the server reports further pages.
+     */
+    private final class CommentPager {
+        private final Long ticketId;
+        private final JPanel listPanel;
+        private final JLabel header;
+        private final JButton loadMoreButton;
+        private String cursor;
+        private long totalCount;
+
+        CommentPager(Long ticketId, JPanel listPanel, JLabel header) {
+            this.ticketId = ticketId;
+            this.listPanel = listPanel;
+            this.header = header;
+            this.loadMoreButton = createStyledButton("Load More", new Color(100, 100, 100), false);
+            this.loadMoreButton.addActionListener(e -> loadNextPage());
+        }
+
+        void loadNextPage() {
+            listPanel.remove(loadMoreButton);
+            try {
+                CommentPage page = ApiClient.getCommentsForTicket(ticketId, cursor);
+                for (CommentDTO comment : page.getItems()) {
+                    listPanel.add(createCommentPanel(comment), "growx, wrap");
+                }
+                cursor = page.getNextCursor();
+                totalCount = page.getTotalCount();
+                updateHeader();
+                if (cursor != null) {
+                    listPanel.add(loadMoreButton, "center, width 120!, wrap");
+                }
+            } catch (Exception ex) {
+                JLabel errorLabel = new JLabel("Failed to load comments: " + ex.getMessage());
+                errorLabel.setForeground(Color.RED);
+                listPanel.add(errorLabel, "growx, wrap");
+            }
+            listPanel.revalidate();
+            listPanel.repaint();
+        }
+
+        void prepend(CommentDTO comment) {
+            listPanel.add(createCommentPanel(comment), "growx, wrap", 0);
+            totalCount++;
+            updateHeader();
+            listPanel.revalidate();
+            listPanel.repaint();
+        }
+
+        private void updateHeader() {
+            header.setText("Comments (" + totalCount + ")");
+        }
+    }
+
     private JPanel createCommentPanel(CommentDTO comment) {
         JPanel panel = new JPanel(new MigLayout("fillx, insets 10", "[grow]", "[]5[]5[]"));
         panel.setBackground(CARD_BACKGROUND);
@@ -836,7 +979,7 @@ public class TicketListPanel extends JPanel {
             Ticket.Status selectedStatus = (Ticket.Status) statusComboBox.getSelectedItem();
             if (selectedStatus != currentStatus) {
                 try {
-                    ApiClient.updateTicketStatus(ticketId, selectedStatus);
+                    ApiClient.updateTicketStatus(ticketId, selectedStatus, currentStatus);
                     refreshTickets();
                     dialog.dispose();
                 } catch (Exception ex) {
@@ -867,6 +1010,7 @@ public class TicketListPanel extends JPanel {
     }
 
     private void handleLogout() {
+        eventStream.stop();
         ApiClient.setCredentials(null, null);
         client.showLoginPanel();
     }
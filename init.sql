@@ -9,9 +9,10 @@ ALTER SESSION SET CURRENT_SCHEMA = C##support_system;
 
 -- Create sequences
 CREATE SEQUENCE user_seq START WITH 1 INCREMENT BY 1;
-CREATE SEQUENCE ticket_seq START WITH 1 INCREMENT BY 1;
-CREATE SEQUENCE comment_seq START WITH 1 INCREMENT BY 1;
-CREATE SEQUENCE audit_log_seq START WITH 1 INCREMENT BY 1;
+-- Increments match the JPA allocationSize: each nextval reserves a block of 50 ids
+CREATE SEQUENCE ticket_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE comment_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE audit_log_seq START WITH 1 INCREMENT BY 50;
 
 -- Create tables
 CREATE TABLE users (
@@ -31,6 +32,10 @@ CREATE TABLE tickets (
     status VARCHAR2(20) NOT NULL,
     creation_date TIMESTAMP NOT NULL,
     created_by_id NUMBER NOT NULL,
+    comment_count NUMBER(10) DEFAULT 0 NOT NULL,
+    last_activity_at TIMESTAMP NOT NULL,
+    change_version NUMBER(19) DEFAULT 0 NOT NULL,
+    version NUMBER(19) DEFAULT 0 NOT NULL,
     CONSTRAINT fk_tickets_user FOREIGN KEY (created_by_id) REFERENCES users(id)
 );
 
@@ -39,7 +44,7 @@ CREATE TABLE comments (
     content VARCHAR2(1000) NOT NULL,
     ticket_id NUMBER NOT NULL,
     user_id NUMBER NOT NULL,
-    creation_date TIMESTAMP NOT NULL,
+    created_at TIMESTAMP NOT NULL,
     CONSTRAINT fk_comments_ticket FOREIGN KEY (ticket_id) REFERENCES tickets(id),
     CONSTRAINT fk_comments_user FOREIGN KEY (user_id) REFERENCES users(id)
 );
@@ -56,6 +61,71 @@ CREATE TABLE audit_logs (
     CONSTRAINT fk_audit_logs_user FOREIGN KEY (user_id) REFERENCES users(id)
 );
 
+-- Archive tables: resolved tickets moved out of the hot tables keep their ids
+CREATE TABLE tickets_archive (
+    id NUMBER PRIMARY KEY,
+    title VARCHAR2(255) NOT NULL,
+    description VARCHAR2(1000) NOT NULL,
+    priority VARCHAR2(20) NOT NULL,
+    category VARCHAR2(20) NOT NULL,
+    status VARCHAR2(20) NOT NULL,
+    creation_date TIMESTAMP NOT NULL,
+    created_by_id NUMBER NOT NULL,
+    comment_count NUMBER(10) DEFAULT 0 NOT NULL,
+    last_activity_at TIMESTAMP NOT NULL,
+    change_version NUMBER(19) DEFAULT 0 NOT NULL,
+    archived_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_tickets_archive_user FOREIGN KEY (created_by_id) REFERENCES users(id)
+);
+
+CREATE TABLE comments_archive (
+    id NUMBER PRIMARY KEY,
+    content VARCHAR2(1000) NOT NULL,
+    ticket_id NUMBER NOT NULL,
+    user_id NUMBER NOT NULL,
+    created_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_comments_archive_ticket FOREIGN KEY (ticket_id) REFERENCES tickets_archive(id),
+    CONSTRAINT fk_comments_archive_user FOREIGN KEY (user_id) REFERENCES users(id)
+);
+
+CREATE TABLE audit_logs_archive (
+    id NUMBER PRIMARY KEY,
+    ticket_id NUMBER NOT NULL,
+    user_id NUMBER NOT NULL,
+    action VARCHAR2(50) NOT NULL,
+    old_value VARCHAR2(255) NOT NULL,
+    new_value VARCHAR2(255) NOT NULL,
+    timestamp TIMESTAMP NOT NULL,
+    CONSTRAINT fk_audit_logs_archive_ticket FOREIGN KEY (ticket_id) REFERENCES tickets_archive(id),
+    CONSTRAINT fk_audit_logs_archive_user FOREIGN KEY (user_id) REFERENCES users(id)
+);
+
+-- Change versions for delta sync; one row, created by the application on first start
+CREATE TABLE ticket_change_counter (
+    id NUMBER PRIMARY KEY,
+    last_version NUMBER(19) NOT NULL
+);
+
+-- Create indexes (one per repository access path, ordered like the queries)
+CREATE INDEX idx_tickets_creation_date ON tickets (creation_date, id);
+CREATE INDEX idx_tickets_created_by ON tickets (created_by_id, creation_date, id);
+CREATE INDEX idx_tickets_status ON tickets (status, creation_date, id);
+CREATE INDEX idx_tickets_change_version ON tickets (change_version, id);
+CREATE INDEX idx_comments_ticket_created ON comments (ticket_id, created_at, id);
+CREATE INDEX idx_audit_logs_ticket_timestamp ON audit_logs (ticket_id, timestamp, id);
+CREATE INDEX idx_audit_logs_timestamp ON audit_logs (timestamp, id);
+CREATE INDEX idx_audit_logs_action_timestamp ON audit_logs (action, timestamp, id);
+CREATE INDEX idx_audit_logs_user_timestamp ON audit_logs (user_id, timestamp, id);
+CREATE INDEX idx_tickets_archive_creation_date ON tickets_archive (creation_date, id);
+CREATE INDEX idx_tickets_archive_created_by ON tickets_archive (created_by_id, creation_date, id);
+CREATE INDEX idx_tickets_archive_status ON tickets_archive (status, creation_date, id);
+CREATE INDEX idx_tickets_archive_change_version ON tickets_archive (change_version, id);
+CREATE INDEX idx_comments_archive_ticket_created ON comments_archive (ticket_id, created_at, id);
+CREATE INDEX idx_audit_logs_archive_ticket_timestamp ON audit_logs_archive (ticket_id, timestamp, id);
+CREATE INDEX idx_audit_logs_archive_timestamp ON audit_logs_archive (timestamp, id);
+CREATE INDEX idx_audit_logs_archive_action_timestamp ON audit_logs_archive (action, timestamp, id);
+CREATE INDEX idx_audit_logs_archive_user_timestamp ON audit_logs_archive (user_id, timestamp, id);
+
 -- Create initial users
 INSERT INTO users (id, username, password, full_name, role)
 VALUES (user_seq.nextval, 'admin', 
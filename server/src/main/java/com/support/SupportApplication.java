@@ -2,8 +2,10 @@ package com.support;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class SupportApplication {
     public static void main(String[] args) {
         SpringApplication.run(SupportApplication.class, args);
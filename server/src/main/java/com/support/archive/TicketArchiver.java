@@ -0,0 +1,113 @@
+package com.support.archive;
+
+import com.support.cache.TicketDataVersion;
+import com.support.dto.KeysetCursor;
+import com.support.entity.Ticket;
+import com.support.event.TicketsArchivedEvent;
+import com.support.repository.ArchivedTicketRepository;
+import com.support.repository.TicketRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Moves resolved tickets that have been quiet for {@code support.archive.min-age} out of the hot
+ * tables, together with their comments and audit entries. Works in chunks of
+ * {@code support.archive.chunk-size} tickets, each in its own short transaction, walking the
+ * candidates by keyset so no lock is held for longer than one chunk.
+ */
+@Slf4j
+@Component
+public class TicketArchiver {
+    private final TicketRepository ticketRepository;
+    private final ArchivedTicketRepository archivedTicketRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final TicketDataVersion ticketDataVersion;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration minAge;
+    private final int chunkSize;
+
+    public TicketArchiver(TicketRepository ticketRepository,
+                          ArchivedTicketRepository archivedTicketRepository,
+                          TransactionTemplate transactionTemplate,
+                          TicketDataVersion ticketDataVersion,
+                          ApplicationEventPublisher eventPublisher,
+                          @Value("${support.archive.min-age:P90D}") Duration minAge,
+                          @Value("${support.archive.chunk-size:500}") int chunkSize) {
+        this.ticketRepository = ticketRepository;
+        this.archivedTicketRepository = archivedTicketRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.ticketDataVersion = ticketDataVersion;
+        this.eventPublisher = eventPublisher;
+        this.minAge = minAge;
+        this.chunkSize = chunkSize;
+    }
+
+    @Scheduled(initialDelayString = "${support.archive.interval}",
+               fixedDelayString = "${support.archive.interval}")
+    public void archive() {
+        long start = System.currentTimeMillis();
+        LocalDateTime cutoff = LocalDateTime.now().minus(minAge);
+        Pageable chunk = PageRequest.of(0, chunkSize);
+
+        KeysetCursor after = null;
+        long archived = 0;
+        while (true) {
+            List<KeysetCursor> candidates = after == null
+                    ? ticketRepository.findFirstArchiveCandidates(Ticket.Status.RESOLVED, cutoff, chunk)
+                    : ticketRepository.findArchiveCandidatesAfter(Ticket.Status.RESOLVED, cutoff,
+                            after.getTimestamp(), after.getId(), chunk);
+            if (candidates.isEmpty()) {
+                break;
+            }
+            after = candidates.get(candidates.size() - 1);
+
+            List<Long> ids = candidates.stream().map(KeysetCursor::getId).toList();
+            Integer moved = transactionTemplate.execute(status -> moveToArchive(ids));
+            archived += moved != null ? moved : 0;
+
+            if (candidates.size() < chunkSize) {
+                break;
+            }
+        }
+
+        if (archived > 0) {
+            log.info("Archived {} resolved tickets created before {} in {} ms",
+                    archived, cutoff, System.currentTimeMillis() - start);
+        }
+    }
+
+    /**
+     * Copies the chunk into the archive tables and deletes it from the hot ones. Must run in a
+     * transaction; the row locks keep concurrent status changes from racing the move.
+     */
+    int moveToArchive(List<Long> candidateIds) {
+        List<Long> ids = ticketRepository.lockByIdInAndStatus(candidateIds, Ticket.Status.RESOLVED)
+                .stream()
+                .map(Ticket::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        archivedTicketRepository.copyTickets(ids, LocalDateTime.now());
+        archivedTicketRepository.copyComments(ids);
+        archivedTicketRepository.copyAuditLogs(ids);
+        archivedTicketRepository.deleteHotAuditLogs(ids);
+        archivedTicketRepository.deleteHotComments(ids);
+        int moved = archivedTicketRepository.deleteHotTickets(ids);
+
+        // The tickets leave the hot list and the search index once this chunk commits
+        ticketDataVersion.changed();
+        eventPublisher.publishEvent(new TicketsArchivedEvent(ids));
+        return moved;
+    }
+}
@@ -0,0 +1,15 @@
+package com.support.audit;
+
+import java.time.LocalDateTime;
+
+/**
+ * An audit entry waiting to be written. The sequence number identifies it in the journal.
+ */
+public record AuditEvent(long sequence,
+                         Long ticketId,
+                         Long userId,
+                         String action,
+                         String oldValue,
+                         String newValue,
+                         LocalDateTime timestamp) {
+}
@@ -0,0 +1,164 @@
+package com.support.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Append-only local file that makes queued audit events survive a crash. Each line is one of
+ * <pre>
+ * E {json}   event journaled before its business transaction commits
+ * A seq      the transaction rolled back, ignore the event
+ * C seq      the event is in the audit_logs table
+ * </pre>
+ * Every append is forced to disk, once per call however many events it carries. Once no event
+ * is outstanding the file is truncated, so it only ever holds what is still in flight.
+ */
+@Slf4j
+class AuditJournal implements Closeable {
+    private final FileChannel channel;
+    private final ObjectMapper objectMapper;
+    private long outstanding;
+
+    AuditJournal(Path file, ObjectMapper objectMapper) throws IOException {
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        this.channel = FileChannel.open(file,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Events journaled by a previous run that were neither written nor aborted, in sequence order.
+     * They count as outstanding until acknowledged.
+     */
+    synchronized List<AuditEvent> recover() throws IOException {
+        truncateTornTail();
+        Map<Long, AuditEvent> pending = new TreeMap<>();
+        channel.position(0);
+        BufferedReader reader = new BufferedReader(
+                Channels.newReader(channel, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.length() < 2) {
+                continue;
+            }
+            try {
+                String body = line.substring(2);
+                switch (line.charAt(0)) {
+                    case 'E' -> {
+                        AuditEvent event = objectMapper.readValue(body, AuditEvent.class);
+                        pending.put(event.sequence(), event);
+                    }
+                    case 'A', 'C' -> pending.remove(Long.parseLong(body.trim()));
+                    default -> log.warn("Skipping unknown audit journal line: {}", line);
+                }
+            } catch (IOException | RuntimeException e) {
+                log.warn("Skipping unreadable audit journal line: {}", line);
+            }
+        }
+        channel.position(channel.size());
+        outstanding = pending.size();
+        compactIfIdle();
+        return new ArrayList<>(pending.values());
+    }
+
+    synchronized void append(Collection<AuditEvent> events) throws IOException {
+        StringBuilder lines = new StringBuilder(events.size() * 160);
+        for (AuditEvent event : events) {
+            lines.append("E ").append(objectMapper.writeValueAsString(event)).append('\n');
+        }
+        write(lines.toString());
+        outstanding += events.size();
+    }
+
+    synchronized void abort(Collection<AuditEvent> events) throws IOException {
+        write(lines("A ", events));
+        outstanding -= events.size();
+        compactIfIdle();
+    }
+
+    synchronized void acknowledge(Collection<AuditEvent> events) throws IOException {
+        write(lines("C ", events));
+        outstanding -= events.size();
+        compactIfIdle();
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private static String lines(String prefix, Collection<AuditEvent> events) {
+        StringBuilder lines = new StringBuilder(events.size() * 12);
+        for (AuditEvent event : events) {
+            lines.append(prefix).append(event.sequence()).append('\n');
+        }
+        return lines.toString();
+    }
+
+    /**
+     * Cuts a line torn by a crash mid-write back to the last newline. Left in place, the next
+     * append would continue it and the event it carries would be unreadable on the next start.
+     */
+    private void truncateTornTail() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(4096);
+        long end = channel.size();
+        while (end > 0) {
+            long start = Math.max(0, end - buffer.capacity());
+            buffer.clear().limit((int) (end - start));
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, start + buffer.position()) < 0) {
+                    break;
+                }
+            }
+            for (int i = buffer.position() - 1; i >= 0; i--) {
+                if (buffer.get(i) == '\n') {
+                    truncate(start + i + 1);
+                    return;
+                }
+            }
+            end = start;
+        }
+        truncate(0);
+    }
+
+    private void truncate(long size) throws IOException {
+        if (size < channel.size()) {
+            log.warn("Discarding {} bytes of a torn audit journal line", channel.size() - size);
+            channel.truncate(size);
+            channel.force(false);
+        }
+    }
+
+    private void write(String text) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(text.getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        channel.force(false);
+    }
+
+    private void compactIfIdle() throws IOException {
+        if (outstanding <= 0) {
+            outstanding = 0;
+            channel.truncate(0);
+            channel.position(0);
+            channel.force(false);
+        }
+    }
+}
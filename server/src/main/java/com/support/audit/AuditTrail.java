@@ -0,0 +1,330 @@
+package com.support.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.support.entity.AuditLog;
+import com.support.repository.AuditLogRepository;
+import com.support.repository.TicketRepository;
+import com.support.repository.UserRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write-behind audit log. Services call {@link #record} inside their transaction; its events are
+ * collected per transaction, journaled to local disk together just before it commits, queued as
+ * one entry once it has committed and inserted by a background writer in batches, so business
+ * writes no longer wait for the INSERT and pay for one journal write however much they record.
+ * <p>
+ * When the queue stays full for {@code support.audit.offer-timeout} the calling thread writes its
+ * own events, which slows producers down to the writer's pace instead of dropping anything. Every
+ * insert runs in a transaction of its own, since the producer's has already completed by then.
+ * Events still queued at shutdown are flushed; after a crash they are replayed from the journal,
+ * as are those of a transaction whose outcome is unknown, so an event can be written twice but is
+ * not lost once its transaction has committed.
+ */
+@Slf4j
+@Component
+public class AuditTrail implements SmartLifecycle {
+    // Stop after the web server has stopped taking requests, start before it does
+    private static final int PHASE = 0;
+    private static final long POLL_INTERVAL_MS = 200;
+    private static final int MAX_ATTEMPTS = 3;
+
+    private final AuditLogRepository auditLogRepository;
+    private final TicketRepository ticketRepository;
+    private final UserRepository userRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Path journalFile;
+    // One entry per committed transaction
+    private final BlockingQueue<List<AuditEvent>> queue;
+    private final int batchSize;
+    private final Duration offerTimeout;
+    private final AtomicLong sequence = new AtomicLong();
+
+    private AuditJournal journal;
+    private Thread writer;
+    private volatile boolean running;
+
+    public AuditTrail(AuditLogRepository auditLogRepository,
+                      TicketRepository ticketRepository,
+                      UserRepository userRepository,
+                      PlatformTransactionManager transactionManager,
+                      ObjectMapper objectMapper,
+                      @Value("${support.audit.journal-dir:audit-journal}") Path journalDir,
+                      @Value("${support.audit.queue-capacity:10000}") int queueCapacity,
+                      @Value("${support.audit.batch-size:500}") int batchSize,
+                      @Value("${support.audit.offer-timeout:PT1S}") Duration offerTimeout) {
+        this.auditLogRepository = auditLogRepository;
+        this.ticketRepository = ticketRepository;
+        this.userRepository = userRepository;
+        // A producer writing its own events does so from its transaction's completion callback,
+        // where joining that finished transaction would never commit the rows
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.objectMapper = objectMapper;
+        this.journalFile = journalDir.resolve("audit.journal");
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.offerTimeout = offerTimeout;
+    }
+
+    /**
+     * Records an audit entry that becomes durable only if the surrounding transaction commits.
+     * Without a transaction the entry is journaled and queued immediately.
+     */
+    public void record(Long ticketId, Long userId, String action, String oldValue, String newValue) {
+        AuditEvent event = new AuditEvent(sequence.incrementAndGet(), ticketId, userId, action,
+                oldValue != null ? oldValue : "", newValue != null ? newValue : "", LocalDateTime.now());
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            List<AuditEvent> events = List.of(event);
+            journal(events);
+            enqueue(events);
+            return;
+        }
+
+        TransactionEvents pending = pendingEvents();
+        if (pending == null) {
+            pending = new TransactionEvents();
+            TransactionSynchronizationManager.registerSynchronization(pending);
+        }
+        pending.events.add(event);
+    }
+
+    // Looked up among the current synchronizations, which a suspended outer transaction's are not part of
+    private TransactionEvents pendingEvents() {
+        for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+            if (synchronization instanceof TransactionEvents pending && pending.owner() == this) {
+                return pending;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public void start() {
+        try {
+            journal = new AuditJournal(journalFile, objectMapper);
+            List<AuditEvent> recovered = journal.recover();
+            if (!recovered.isEmpty()) {
+                log.info("Replaying {} audit events from {}", recovered.size(), journalFile);
+                sequence.set(recovered.get(recovered.size() - 1).sequence());
+                writeWithRetry(recovered);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open audit journal " + journalFile, e);
+        }
+
+        running = true;
+        writer = new Thread(this::drain, "audit-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        List<AuditEvent> remaining = new ArrayList<>();
+        for (List<AuditEvent> events = queue.poll(); events != null; events = queue.poll()) {
+            remaining.addAll(events);
+        }
+        if (!remaining.isEmpty()) {
+            log.info("Flushing {} queued audit events before shutdown", remaining.size());
+            writeWithRetry(remaining);
+        }
+        try {
+            journal.close();
+        } catch (IOException e) {
+            log.warn("Could not close audit journal", e);
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void journal(List<AuditEvent> events) {
+        try {
+            journal.append(events);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not journal audit events", e);
+        }
+    }
+
+    private void enqueue(List<AuditEvent> events) {
+        boolean queued = false;
+        if (running) {
+            try {
+                queued = queue.offer(events, offerTimeout.toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (!queued) {
+            // Backpressure: the producer pays for its own insert
+            writeWithRetry(events);
+        }
+    }
+
+    private void drain() {
+        List<AuditEvent> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                List<AuditEvent> first = queue.poll(POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.addAll(first);
+                // Whole transactions only, so a batch can run past batchSize by the last one's events
+                while (batch.size() < batchSize) {
+                    List<AuditEvent> next = queue.poll();
+                    if (next == null) {
+                        break;
+                    }
+                    batch.addAll(next);
+                }
+                writeWithRetry(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Inserts the batch and acknowledges it in the journal. A batch that keeps failing is split so
+     * one bad event cannot hold back the others. An event the database rejects outright (say, for a
+     * ticket whose transaction died before its rollback was journaled) is dropped; any other
+     * failure leaves it in the journal for the next start.
+     */
+    private void writeWithRetry(List<AuditEvent> batch) {
+        for (int attempt = 1; attempt <= MAX_ATTEMPTS; attempt++) {
+            try {
+                insert(batch);
+                acknowledge(batch);
+                return;
+            } catch (DataIntegrityViolationException e) {
+                if (batch.size() == 1) {
+                    log.error("Dropping audit event {} rejected by the database", batch.get(0), e);
+                    acknowledge(batch);
+                    return;
+                }
+                break;
+            } catch (RuntimeException e) {
+                if (attempt == MAX_ATTEMPTS) {
+                    if (batch.size() == 1) {
+                        log.error("Could not write audit event {}; it stays in the journal", batch.get(0), e);
+                        return;
+                    }
+                    break;
+                }
+                log.warn("Audit batch of {} failed (attempt {}), retrying", batch.size(), attempt, e);
+                sleep(attempt * POLL_INTERVAL_MS);
+            }
+        }
+        for (AuditEvent event : batch) {
+            writeWithRetry(List.of(event));
+        }
+    }
+
+    private void acknowledge(List<AuditEvent> batch) {
+        try {
+            journal.acknowledge(batch);
+        } catch (IOException e) {
+            // The rows are written; at worst they are inserted again when the journal is replayed
+            log.error("Could not acknowledge {} audit events in the journal", batch.size(), e);
+        }
+    }
+
+    private void insert(List<AuditEvent> batch) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<AuditLog> auditLogs = new ArrayList<>(batch.size());
+            for (AuditEvent event : batch) {
+                AuditLog auditLog = new AuditLog();
+                auditLog.setTicket(ticketRepository.getReferenceById(event.ticketId()));
+                auditLog.setUser(userRepository.getReferenceById(event.userId()));
+                auditLog.setAction(event.action());
+                auditLog.setOldValue(event.oldValue());
+                auditLog.setNewValue(event.newValue());
+                auditLog.setTimestamp(event.timestamp());
+                auditLogs.add(auditLog);
+            }
+            auditLogRepository.saveAll(auditLogs);
+        });
+    }
+
+    /** The events one transaction recorded, journaled with a single write before it commits. */
+    private final class TransactionEvents implements TransactionSynchronization {
+        private final List<AuditEvent> events = new ArrayList<>();
+        private boolean journaled;
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            // Failing here rolls the business transaction back rather than losing its audit entries
+            journal(events);
+            journaled = true;
+        }
+
+        AuditTrail owner() {
+            return AuditTrail.this;
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            if (status == STATUS_COMMITTED) {
+                enqueue(events);
+            } else if (status == STATUS_UNKNOWN) {
+                // The commit may have gone through; the events stay journaled for the next start
+                log.warn("Outcome of a transaction with {} audit events is unknown; leaving them to journal replay",
+                        events.size());
+            } else if (journaled) {
+                try {
+                    journal.abort(events);
+                } catch (IOException e) {
+                    log.error("Could not mark {} audit events as rolled back", events.size(), e);
+                }
+            }
+        }
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
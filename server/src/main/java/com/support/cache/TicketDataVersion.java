@@ -0,0 +1,34 @@
+package com.support.cache;
+
+import com.support.sync.TicketChangeVersions;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Version that moves forward whenever committed ticket data changes. Cached renderings of
+ * ticket data are tagged with the value read before they were built and are stale once it moves.
+ * <p>
+ * It is the committed value of the shared change counter ({@link TicketChangeVersions}), which
+ * every ticket and comment write advances on whichever server it runs. A reader that sees the
+ * new value is therefore guaranteed to also see the new data, and all servers agree on it, so
+ * caches and ETags keyed by it stay valid behind a load balancer. Writes made outside the
+ * application (a manual SQL fix) do not move it; caches keyed by it bound that staleness with a
+ * time to live.
+ */
+@Component
+@RequiredArgsConstructor
+public class TicketDataVersion {
+    private final TicketChangeVersions changeVersions;
+
+    public long current() {
+        return changeVersions.stable();
+    }
+
+    /**
+     * For changes that stamp no ticket (archiving). Must be called inside the changing
+     * transaction, after its last row lock; the version moves when it commits.
+     */
+    public void changed() {
+        changeVersions.next();
+    }
+}
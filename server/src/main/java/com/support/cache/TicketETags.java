@@ -0,0 +1,75 @@
+package com.support.cache;
+
+import com.support.search.TicketSearchIndex;
+import com.support.security.CurrentUserProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Strong ETags for ticket and comment reads, derived from {@link TicketDataVersion} instead of
+ * the response body, so an {@code If-None-Match} can be answered before any query runs.
+ * <p>
+ * A tag names the data version and the view it was rendered for; the request URL supplies the
+ * rest. It must be computed before the response is built: the body is then at least as new as
+ * the tag, and a change committed meanwhile only costs the next request a full response.
+ * <p>
+ * The version is shared by all servers, so a tag issued by one is honoured by the others. Tags
+ * also carry the {@code support.ticket-etags.ttl} window they were issued in and stop matching
+ * when it ends, so a change made outside the application stays hidden from a revalidating client
+ * for at most that long.
+ * <p>
+ * Keyword search answers from the in-memory {@link TicketSearchIndex}, which catches up with a
+ * commit only after the version has moved, so its tags also name the index generation. Each
+ * server keeps its own index, so those tags are only honoured by the server that issued them.
+ */
+@Component
+public class TicketETags {
+    /** Clients may keep a response but must revalidate it; shared caches must not keep it. */
+    public static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private final TicketDataVersion dataVersion;
+    private final CurrentUserProvider currentUserProvider;
+    private final TicketSearchIndex searchIndex;
+    private final long ttlMillis;
+
+    public TicketETags(TicketDataVersion dataVersion,
+                       CurrentUserProvider currentUserProvider,
+                       TicketSearchIndex searchIndex,
+                       @Value("${support.ticket-etags.ttl:PT10M}") Duration ttl) {
+        if (ttl.toMillis() <= 0) {
+            throw new IllegalStateException("support.ticket-etags.ttl must be positive");
+        }
+        this.dataVersion = dataVersion;
+        this.currentUserProvider = currentUserProvider;
+        this.searchIndex = searchIndex;
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    /** For reads whose result depends on the caller: employees only see their own tickets. */
+    public String forCurrentUser() {
+        return tag(TicketViews.of(currentUserProvider.get()));
+    }
+
+    /** For reads every user sees alike (search by id or status, comments). */
+    public String shared() {
+        return tag(TicketViews.SHARED);
+    }
+
+    /** For keyword searches, which every user sees alike but which read the search index. */
+    public String forKeywordSearch() {
+        return tag(TicketViews.SHARED + "-" + searchIndex.generation());
+    }
+
+    /** Strong tags are per representation, so the gzip encoding gets its own. */
+    public static String gzip(String etag) {
+        return etag.substring(0, etag.length() - 1) + "-gzip\"";
+    }
+
+    private String tag(String view) {
+        long window = System.currentTimeMillis() / ttlMillis;
+        return "\"" + window + "-" + dataVersion.current() + "-" + view + "\"";
+    }
+}
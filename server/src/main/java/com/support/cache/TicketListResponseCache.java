@@ -0,0 +1,90 @@
+package com.support.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.support.dto.CursorPage;
+import com.support.dto.TicketDTO;
+import com.support.security.CurrentUserProvider;
+import com.support.service.TicketReadCoalescer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized {@code GET /api/tickets} pages, kept as JSON and gzip bytes so that repeated polls
+ * skip the query, the DTO mapping and Jackson. IT_SUPPORT agents all see the same list and share
+ * one entry per page; employees get their own.
+ * <p>
+ * Entries are keyed by {@link TicketDataVersion}, so a committed change makes every cached page
+ * unreachable at once; the old entries age out. Concurrent misses for the same page wait for a
+ * single rendering. The version is shared by all servers, so a change made through any of them
+ * is seen here; {@code support.ticket-list-cache.ttl} counts from rendering, so a page that is
+ * polled constantly is still rebuilt at least that often and a change made outside the
+ * application stays hidden no longer.
+ */
+@Component
+public class TicketListResponseCache {
+    private final TicketReadCoalescer ticketReads;
+    private final CurrentUserProvider currentUserProvider;
+    private final TicketDataVersion dataVersion;
+    private final ObjectMapper objectMapper;
+    private final Cache<Key, CachedResponse> cache;
+
+    public TicketListResponseCache(TicketReadCoalescer ticketReads,
+                                   CurrentUserProvider currentUserProvider,
+                                   TicketDataVersion dataVersion,
+                                   ObjectMapper objectMapper,
+                                   @Value("${support.ticket-list-cache.max-size:1000}") long maxSize,
+                                   @Value("${support.ticket-list-cache.ttl:PT10M}") Duration ttl) {
+        this.ticketReads = ticketReads;
+        this.currentUserProvider = currentUserProvider;
+        this.dataVersion = dataVersion;
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    public CachedResponse getTicketsForCurrentUser(String cursor, int size, boolean includeArchived) {
+        // Read before rendering: a change committed meanwhile leaves this entry under the old version
+        Key key = new Key(dataVersion.current(), TicketViews.of(currentUserProvider.get()),
+                cursor, size, includeArchived);
+        return cache.get(key, k -> render(ticketReads.getTicketsForCurrentUser(cursor, size, includeArchived)));
+    }
+
+    private CachedResponse render(CursorPage<TicketDTO> page) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(page);
+            return new CachedResponse(json, gzip(json));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize ticket page", e);
+        }
+    }
+
+    private static byte[] gzip(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 4 + 64);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private record Key(long version, String view, String cursor, int size, boolean includeArchived) {
+    }
+
+    /**
+     * One rendered page. The arrays are shared between requests and must not be modified.
+     */
+    public record CachedResponse(byte[] json, byte[] gzip) {
+    }
+}
@@ -0,0 +1,21 @@
+package com.support.cache;
+
+import com.support.entity.User;
+import com.support.security.AuthenticatedUser;
+
+/**
+ * Names the slice of tickets a caller can see, for the caches and tags that must keep those
+ * slices apart: IT_SUPPORT agents all see every ticket and share one view, while each employee
+ * only sees their own.
+ */
+public final class TicketViews {
+    /** The view of reads every user sees alike. */
+    public static final String SHARED = "all";
+
+    private TicketViews() {
+    }
+
+    public static String of(AuthenticatedUser user) {
+        return user.getRole() == User.Role.IT_SUPPORT ? SHARED : "user:" + user.getId();
+    }
+}
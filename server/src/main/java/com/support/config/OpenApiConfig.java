@@ -21,6 +21,11 @@ public class OpenApiConfig {
                 .addSecuritySchemes("basicAuth", new SecurityScheme()
                     .type(SecurityScheme.Type.HTTP)
                     .scheme("basic")
-                    .description("Basic authentication with username and password")));
+                    .description("Basic authentication with username and password"))
+                .addSecuritySchemes("bearerAuth", new SecurityScheme()
+                    .type(SecurityScheme.Type.HTTP)
+                    .scheme("bearer")
+                    .bearerFormat("JWT")
+                    .description("Access token returned by /api/auth/login")));
     }
 } 
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.support.controller;
+
+import com.support.dto.AuditLogDTO;
+import com.support.dto.AuditLogFilter;
+import com.support.dto.CursorPage;
+import com.support.service.AuditLogService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/audit-logs")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('IT_SUPPORT')")
+@Tag(name = "Audit logs", description = "Audit trail queries")
+public class AuditLogController {
+    private final AuditLogService auditLogService;
+
+    @GetMapping
+    @Operation(summary = "Query the audit trail",
+               description = "Filters by ticket, user, action and timestamp range [from, to); " +
+                             "includeArchived=true also covers archived tickets. Newest first, keyset-paginated. Pass the returned nextCursor to fetch the following page.")
+    public ResponseEntity<CursorPage<AuditLogDTO>> search(
+            @ParameterObject AuditLogFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(auditLogService.search(filter, cursor, size));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export the audit trail",
+               description = "Streams every entry matching the filters as NDJSON, newest first, without buffering.")
+    public ResponseEntity<StreamingResponseBody> export(@ParameterObject AuditLogFilter filter) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"audit-logs.ndjson\"")
+                .body(out -> auditLogService.export(filter, out));
+    }
+}
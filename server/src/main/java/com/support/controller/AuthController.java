@@ -1,15 +1,19 @@
 package com.support.controller;
 
+import com.support.dto.AuthResponse;
 import com.support.dto.LoginRequest;
-import com.support.dto.UserDTO;
+import com.support.entity.User;
+import com.support.security.AccessTokenService;
 import com.support.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
@@ -19,11 +23,23 @@ import org.springframework.web.bind.annotation.RestController;
 @Tag(name = "Authentication", description = "Authentication endpoints")
 public class AuthController {
     private final UserService userService;
+    private final AccessTokenService accessTokenService;
 
     @PostMapping("/login")
     @Operation(summary = "Login with username and password",
-               description = "Authenticates a user and returns their details. Use the returned credentials for subsequent requests.")
-    public ResponseEntity<UserDTO> login(@Valid @RequestBody LoginRequest request) {
-        return ResponseEntity.ok(userService.authenticateUser(request.getUsername(), request.getPassword()));
+               description = "Authenticates a user and returns their details with a short-lived access token. " +
+                             "Send it as 'Authorization: Bearer <token>' on subsequent requests.")
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
+        User user = userService.authenticateUser(request.getUsername(), request.getPassword());
+        return ResponseEntity.ok(accessTokenService.issue(user));
+    }
+
+    @PostMapping("/refresh")
+    @Operation(summary = "Refresh the access token",
+               description = "Issues a new access token for the authenticated caller before the current one expires. " +
+                             "The token reflects the stored account: 401 if it was deleted or its password changed, " +
+                             "and a changed role applies.")
+    public ResponseEntity<AuthResponse> refresh(@RequestHeader(HttpHeaders.AUTHORIZATION) String authorization) {
+        return ResponseEntity.ok(accessTokenService.refresh(userService.reloadCurrentUser(), authorization));
     }
 } 
\ No newline at end of file
@@ -0,0 +1,30 @@
+package com.support.controller;
+
+import com.support.dto.CacheRegionStatsDTO;
+import com.support.stats.CacheStatistics;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('IT_SUPPORT')")
+@Tag(name = "Cache", description = "Second-level cache monitoring")
+public class CacheController {
+    private final CacheStatistics cacheStatistics;
+
+    @GetMapping("/stats")
+    @Operation(summary = "Second-level cache statistics",
+               description = "Hit, miss and put counts per cache region since startup.")
+    public ResponseEntity<List<CacheRegionStatsDTO>> stats() {
+        return ResponseEntity.ok(cacheStatistics.snapshot());
+    }
+}
@@ -1,7 +1,10 @@
 package com.support.controller;
 
+import com.support.cache.TicketETags;
 import com.support.dto.AddCommentRequest;
 import com.support.dto.CommentDTO;
+import com.support.dto.CommentPage;
+import com.support.dto.CursorPage;
 import com.support.service.CommentService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
@@ -9,8 +12,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
-
-import java.util.List;
+import org.springframework.web.context.request.WebRequest;
 
 @RestController
 @RequestMapping("/api/comments")
@@ -18,6 +20,7 @@ import java.util.List;
 @Tag(name = "Comments", description = "Comment management endpoints")
 public class CommentController {
     private final CommentService commentService;
+    private final TicketETags ticketETags;
 
     @PostMapping
     @Operation(summary = "Add a comment to a ticket")
@@ -26,8 +29,23 @@ public class CommentController {
     }
 
     @GetMapping("/ticket/{ticketId}")
-    @Operation(summary = "Get all comments for a ticket")
-    public ResponseEntity<List<CommentDTO>> getCommentsForTicket(@PathVariable Long ticketId) {
-        return ResponseEntity.ok(commentService.getCommentsForTicket(ticketId));
+    @Operation(summary = "Get comments for a ticket",
+               description = "Newest first, keyset-paginated, with the ticket's total comment count. Pass the returned " +
+                             "nextCursor to fetch the following page. Comments of archived tickets are only returned " +
+                             "with includeArchived=true. Answers If-None-Match with 304 while nothing has changed.")
+    public ResponseEntity<CommentPage> getCommentsForTicket(
+            @PathVariable Long ticketId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            WebRequest webRequest) {
+        // Comments only change with a new comment, which moves the ticket data version
+        String etag = ticketETags.shared();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(TicketETags.REVALIDATE)
+                .body(commentService.getCommentsForTicket(ticketId, cursor, size, includeArchived));
     }
 } 
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.support.controller;
+
+import com.support.event.ChangeEventBroadcaster;
+import com.support.security.CurrentUserProvider;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/events")
+@RequiredArgsConstructor
+@Tag(name = "Events", description = "Push channel for ticket changes")
+public class EventController {
+    private final ChangeEventBroadcaster changeEventBroadcaster;
+    private final CurrentUserProvider currentUserProvider;
+
+    @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream ticket changes",
+               description = "Server-Sent Events named TICKET_CREATED, STATUS_CHANGED and COMMENT_ADDED. " +
+                             "Employees only receive changes to their own tickets. Reconnect with Last-Event-ID to " +
+                             "receive the changes missed meanwhile; a 'reset' event means they are no longer " +
+                             "available and the client should reload.")
+    public SseEmitter events(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return changeEventBroadcaster.subscribe(currentUserProvider.get(), lastEventId);
+    }
+}
@@ -1,18 +1,46 @@
 package com.support.controller;
 
+import com.support.cache.TicketETags;
+import com.support.cache.TicketListResponseCache;
+import com.support.cache.TicketListResponseCache.CachedResponse;
+import com.support.dto.BulkStatusUpdateRequest;
+import com.support.dto.BulkStatusUpdateResult;
 import com.support.dto.CreateTicketRequest;
+import com.support.dto.CursorPage;
+import com.support.dto.TicketChangesDTO;
 import com.support.dto.TicketDTO;
+import com.support.dto.TicketFacetsDTO;
+import com.support.dto.TicketFilter;
+import com.support.dto.TicketImportResult;
+import com.support.dto.TicketStatsDTO;
 import com.support.entity.Ticket;
+import com.support.search.TicketFacetIndex;
+import com.support.service.TicketExportService;
+import com.support.service.TicketImportService;
+import com.support.service.TicketReadCoalescer;
 import com.support.service.TicketService;
+import com.support.stats.TicketStatistics;
 import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springdoc.core.annotations.ParameterObject;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/tickets")
@@ -20,6 +48,13 @@ import java.util.List;
 @Tag(name = "Tickets", description = "Ticket management endpoints")
 public class TicketController {
     private final TicketService ticketService;
+    private final TicketExportService ticketExportService;
+    private final TicketImportService ticketImportService;
+    private final TicketStatistics ticketStatistics;
+    private final TicketListResponseCache ticketListResponseCache;
+    private final TicketReadCoalescer ticketReadCoalescer;
+    private final TicketETags ticketETags;
+    private final TicketFacetIndex ticketFacetIndex;
 
     @PostMapping
     @Operation(summary = "Create a new ticket")
@@ -29,25 +64,167 @@ public class TicketController {
     }
 
     @PutMapping("/{ticketId}/status")
-    @Operation(summary = "Update ticket status")
+    @Operation(summary = "Update ticket status",
+               description = "With expectedStatus, only applies while the ticket is still in that status and " +
+                             "answers 409 otherwise, so two agents cannot both act on the same ticket. " +
+                             "A ticket already in the requested status is returned unchanged.")
     @PreAuthorize("hasRole('IT_SUPPORT')")
     public ResponseEntity<TicketDTO> updateTicketStatus(
             @PathVariable Long ticketId,
-            @RequestParam Ticket.Status status) {
-        return ResponseEntity.ok(ticketService.updateTicketStatus(ticketId, status));
+            @RequestParam Ticket.Status status,
+            @RequestParam(required = false) Ticket.Status expectedStatus) {
+        return ResponseEntity.ok(ticketService.updateTicketStatus(ticketId, status, expectedStatus));
+    }
+
+    @PutMapping("/status")
+    @Operation(summary = "Update the status of many tickets at once",
+               description = "Returns one result per distinct id: UPDATED, UNCHANGED (already in that status) or NOT_FOUND.")
+    @PreAuthorize("hasRole('IT_SUPPORT')")
+    public ResponseEntity<List<BulkStatusUpdateResult>> bulkUpdateStatus(
+            @Valid @RequestBody BulkStatusUpdateRequest request) {
+        return ResponseEntity.ok(ticketService.bulkUpdateStatus(request.getTicketIds(), request.getStatus()));
     }
 
     @GetMapping
-    @Operation(summary = "Get tickets for current user")
-    public ResponseEntity<List<TicketDTO>> getTickets() {
-        return ResponseEntity.ok(ticketService.getTicketsForCurrentUser());
+    @Operation(summary = "Get tickets for current user",
+               description = "Newest first, keyset-paginated. Pass the returned nextCursor to fetch the following page. " +
+                             "Archived tickets are only included with includeArchived=true. " +
+                             "Pages are cached pre-serialized until the next ticket change and sent gzipped when accepted. " +
+                             "Send the returned ETag as If-None-Match to get 304 while nothing has changed.")
+    @ApiResponse(responseCode = "200", content = @Content(mediaType = MediaType.APPLICATION_JSON_VALUE,
+                 schema = @Schema(implementation = CursorPage.class)))
+    public ResponseEntity<byte[]> getTickets(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            WebRequest webRequest) {
+        boolean gzip = acceptEncoding != null && acceptEncoding.contains("gzip");
+        String etag = gzip ? TicketETags.gzip(ticketETags.forCurrentUser()) : ticketETags.forCurrentUser();
+        // Answers 304 before anything is queried; otherwise the tag goes out with the full response
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        // Served pre-serialized from the response cache; unchanged data is never re-queried
+        CachedResponse page = ticketListResponseCache.getTicketsForCurrentUser(cursor, size, includeArchived);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(TicketETags.REVALIDATE)
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(page.gzip());
+        }
+        return response.body(page.json());
     }
 
     @GetMapping("/search")
-    @Operation(summary = "Search tickets by ID or status")
-    public ResponseEntity<List<TicketDTO>> searchTickets(
+    @Operation(summary = "Search tickets by keywords, ID or status",
+               description = "With q, returns the best keyword matches in title and description ranked by relevance. " +
+                             "Otherwise filters by ticketId or status, newest first; includeArchived=true also searches the archive. " +
+                             "Answers If-None-Match with 304 while no ticket has changed.")
+    public ResponseEntity<CursorPage<TicketDTO>> searchTickets(
+            @RequestParam(required = false) String q,
             @RequestParam(required = false) Long ticketId,
-            @RequestParam(required = false) Ticket.Status status) {
-        return ResponseEntity.ok(ticketService.searchTickets(ticketId, status));
+            @RequestParam(required = false) Ticket.Status status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(defaultValue = "false") boolean includeArchived,
+            WebRequest webRequest) {
+        boolean keywords = q != null && !q.isBlank();
+        String etag = keywords ? ticketETags.forKeywordSearch() : ticketETags.shared();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok().cacheControl(TicketETags.REVALIDATE);
+        if (keywords) {
+            return response.body(ticketService.fullTextSearch(q, size));
+        }
+        return response.body(ticketReadCoalescer.searchTickets(ticketId, status, cursor, size, includeArchived));
+    }
+
+    @GetMapping("/filter")
+    @Operation(summary = "Filter tickets by any combination of criteria",
+               description = "Status, priority, category, creator, creation date range [createdFrom, createdTo) and keywords. " +
+                             "Newest first, keyset-paginated. Employees only see their own tickets. " +
+                             "includeArchived=true also searches archived tickets, except by keywords. " +
+                             "Answers If-None-Match with 304 while no ticket has changed.")
+    public ResponseEntity<CursorPage<TicketDTO>> filterTickets(
+            @ParameterObject TicketFilter filter,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_PAGE_SIZE) int size,
+            WebRequest webRequest) {
+        String etag = ticketETags.forCurrentUser();
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(TicketETags.REVALIDATE)
+                .body(ticketService.filterTickets(filter, cursor, size));
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "Tickets changed since a version",
+               description = "Returns the current state of every ticket created, re-statused or commented on after " +
+                             "'since', oldest change first, plus the highWaterMark to pass as 'since' next time. " +
+                             "Omit since for a full sync. Follow nextCursor until it is null before storing the mark. " +
+                             "Employees only see their own tickets. 410 means 'since' is unknown; sync again without it.")
+    public ResponseEntity<TicketChangesDTO> getChanges(
+            @RequestParam(defaultValue = "-1") long since,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(ticketService.getChangesSince(since, cursor, size));
+    }
+
+    @GetMapping("/stats")
+    @Operation(summary = "Ticket counts by status, priority and category",
+               description = "Served from in-memory counters; reconciled with the database every few minutes.")
+    @PreAuthorize("hasRole('IT_SUPPORT')")
+    public ResponseEntity<TicketStatsDTO> getStats() {
+        return ResponseEntity.ok(ticketStatistics.snapshot());
+    }
+
+    @GetMapping("/facets")
+    @Operation(summary = "Ticket counts per facet value and the matching ticket ids",
+               description = "Repeat a parameter to select several values. Values of one facet are ORed, facets are " +
+                             "ANDed, and a facet without values does not restrict. Each facet's counts apply only the " +
+                             "other facets' selections. Returns up to limit ids, newest first (at most " +
+                             TicketFacetIndex.MAX_IDS + "). Served from in-memory bitmaps without querying the " +
+                             "database; archived tickets are included.")
+    @PreAuthorize("hasRole('IT_SUPPORT')")
+    public ResponseEntity<TicketFacetsDTO> getFacets(
+            @RequestParam(required = false) Set<Ticket.Status> status,
+            @RequestParam(required = false) Set<Ticket.Priority> priority,
+            @RequestParam(required = false) Set<Ticket.Category> category,
+            @RequestParam(required = false) Set<String> createdBy,
+            @RequestParam(defaultValue = "" + CursorPage.DEFAULT_PAGE_SIZE) int limit) {
+        return ResponseEntity.ok(ticketFacetIndex.query(status, priority, category, createdBy, limit));
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export all tickets",
+               description = "Streams every ticket as NDJSON (one object per line) or CSV without buffering the result set.")
+    @PreAuthorize("hasRole('IT_SUPPORT')")
+    public ResponseEntity<StreamingResponseBody> exportTickets(
+            @RequestParam(defaultValue = "NDJSON") TicketExportService.Format format) {
+        MediaType contentType = format == TicketExportService.Format.CSV
+                ? new MediaType("text", "csv", StandardCharsets.UTF_8)
+                : MediaType.APPLICATION_NDJSON;
+        String filename = "tickets." + format.name().toLowerCase();
+
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
+                .body(out -> ticketExportService.export(format, out));
+    }
+
+    @PostMapping("/import")
+    @Operation(summary = "Import tickets",
+               description = "Reads NDJSON or CSV in the export format from the request body and inserts it in batches. " +
+                             "Returns how many tickets were imported or rejected, with the first errors and the throughput.")
+    @PreAuthorize("hasRole('IT_SUPPORT')")
+    public ResponseEntity<TicketImportResult> importTickets(
+            @RequestParam(defaultValue = "NDJSON") TicketExportService.Format format,
+            InputStream body) throws IOException {
+        return ResponseEntity.ok(ticketImportService.importTickets(format, body));
     }
-} 
\ No newline at end of file
+}
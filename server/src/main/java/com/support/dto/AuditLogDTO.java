@@ -0,0 +1,30 @@
+package com.support.dto;
+
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+public class AuditLogDTO {
+    private Long id;
+    private Long ticketId;
+    private String username;
+    private String action;
+    private String oldValue;
+    private String newValue;
+    private LocalDateTime timestamp;
+
+    // Used by Criteria constructor projections
+    public AuditLogDTO(Long id, Long ticketId, String username, String action,
+                       String oldValue, String newValue, LocalDateTime timestamp) {
+        this.id = id;
+        this.ticketId = ticketId;
+        this.username = username;
+        this.action = action;
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+        this.timestamp = timestamp;
+    }
+}
@@ -0,0 +1,27 @@
+package com.support.dto;
+
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Criteria for GET /api/audit-logs. Every field is optional and all present fields must match.
+ */
+@Data
+public class AuditLogFilter {
+    private Long ticketId;
+    // Username of the user who made the change
+    private String username;
+    // e.g. TICKET_CREATED, STATUS_CHANGED
+    private String action;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    // Also search entries of archived tickets
+    private boolean includeArchived;
+}
@@ -0,0 +1,19 @@
+package com.support.dto;
+
+import com.support.entity.Ticket;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+public class BulkStatusUpdateRequest {
+    @NotEmpty(message = "At least one ticket id is required")
+    @Size(max = 1000, message = "At most 1000 tickets can be updated at once")
+    private List<@NotNull Long> ticketIds;
+
+    @NotNull(message = "Status is required")
+    private Ticket.Status status;
+}
@@ -0,0 +1,20 @@
+package com.support.dto;
+
+import com.support.entity.Ticket;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BulkStatusUpdateResult {
+    public enum Outcome {
+        UPDATED, UNCHANGED, NOT_FOUND
+    }
+
+    private Long ticketId;
+    private Outcome outcome;
+    // Null when the ticket was not found
+    private Ticket.Status previousStatus;
+}
@@ -0,0 +1,32 @@
+package com.support.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.support.entity.Ticket;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Change pushed over {@code /api/events}. Carries enough to update a ticket row in place;
+ * fields that do not apply to the type are left out.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ChangeEventDTO {
+    public enum Type {
+        TICKET_CREATED, STATUS_CHANGED, COMMENT_ADDED
+    }
+
+    private Type type;
+    private Long ticketId;
+    // The whole row for TICKET_CREATED
+    private TicketDTO ticket;
+    private Ticket.Status status;
+    private Ticket.Status previousStatus;
+    private Integer commentCount;
+    private LocalDateTime lastActivityAt;
+}
@@ -1,13 +1,18 @@
 package com.support.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
+
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor
 public class CommentDTO {
     private Long id;
     private String content;
     private Long ticketId;
     private String username;
     private LocalDateTime createdAt;
-} 
\ No newline at end of file
+}
@@ -0,0 +1,21 @@
+package com.support.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * One page of a ticket's comments, newest first, with the ticket's total so clients can
+ * show the count and fetch further pages only when needed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentPage {
+    private List<CommentDTO> items;
+    // Opaque token for the next page, null when this is the last page
+    private String nextCursor;
+    private long totalCount;
+}
@@ -0,0 +1,46 @@
+package com.support.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 200;
+
+    private List<T> items;
+    // Opaque token for the next page, null when this is the last page
+    private String nextCursor;
+
+    /** Page size to serve for a requested size: the default when unset, capped at the maximum. */
+    public static int clampPageSize(int size) {
+        if (size <= 0) {
+            return DEFAULT_PAGE_SIZE;
+        }
+        return Math.min(size, MAX_PAGE_SIZE);
+    }
+
+    /** Rows to fetch for a page of limit items; the extra row tells whether another page exists. */
+    public static int fetchSize(int limit) {
+        return limit + 1;
+    }
+
+    /**
+     * Cuts rows fetched with {@link #fetchSize} down to one page, with a cursor built from its
+     * last item when the extra row shows there is more.
+     */
+    public static <T> CursorPage<T> of(List<T> rows, int limit, Function<? super T, String> cursorOf) {
+        if (rows.size() <= limit) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> items = new ArrayList<>(rows.subList(0, limit));
+        return new CursorPage<>(items, cursorOf.apply(items.get(limit - 1)));
+    }
+}
@@ -0,0 +1,18 @@
+package com.support.dto;
+
+import com.support.entity.Ticket;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// The facet-indexed columns of a ticket, without the text fields
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketAttributes {
+    private Long id;
+    private Ticket.Status status;
+    private Ticket.Priority priority;
+    private Ticket.Category category;
+    private String createdByUsername;
+}
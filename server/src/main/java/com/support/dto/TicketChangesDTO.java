@@ -0,0 +1,19 @@
+package com.support.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketChangesDTO {
+    // Current state of each ticket changed since the requested version, oldest change first
+    private List<TicketDTO> items;
+    // Set while this sync has more pages; pass it back as cursor
+    private String nextCursor;
+    // Pass as since on the next sync once nextCursor is null
+    private long highWaterMark;
+}
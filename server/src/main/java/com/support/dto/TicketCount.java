@@ -0,0 +1,16 @@
+package com.support.dto;
+
+import com.support.entity.Ticket;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TicketCount {
+    private Ticket.Status status;
+    private Ticket.Priority priority;
+    private Ticket.Category category;
+    private Long count;
+}
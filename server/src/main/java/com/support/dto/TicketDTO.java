@@ -2,10 +2,12 @@ package com.support.dto;
 
 import com.support.entity.Ticket;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 
 @Data
+@NoArgsConstructor
 public class TicketDTO {
     private Long id;
     private String title;
@@ -15,4 +17,27 @@ public class TicketDTO {
     private Ticket.Status status;
     private LocalDateTime creationDate;
     private String createdByUsername;
-} 
\ No newline at end of file
+    private int commentCount;
+    // Latest comment or status change; the creation date for untouched tickets
+    private LocalDateTime lastActivityAt;
+    // Pass to GET /api/tickets/changes as since to get later changes of any ticket
+    private long changeVersion;
+
+    // Used by JPQL constructor expressions in TicketRepository
+    public TicketDTO(Long id, String title, String description, Ticket.Priority priority,
+                     Ticket.Category category, Ticket.Status status, LocalDateTime creationDate,
+                     String createdByUsername, int commentCount, LocalDateTime lastActivityAt,
+                     long changeVersion) {
+        this.id = id;
+        this.title = title;
+        this.description = description;
+        this.priority = priority;
+        this.category = category;
+        this.status = status;
+        this.creationDate = creationDate;
+        this.createdByUsername = createdByUsername;
+        this.commentCount = commentCount;
+        this.lastActivityAt = lastActivityAt;
+        this.changeVersion = changeVersion;
+    }
+}
@@ -0,0 +1,19 @@
+package com.support.dto;
+
+import com.support.entity.Ticket;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class TicketFacetsDTO {
+    private long total;
+    // Highest (newest) ids first, up to the requested limit
+    private List<Long> ticketIds;
+    private Map<Ticket.Status, Long> byStatus;
+    private Map<Ticket.Priority, Long> byPriority;
+    private Map<Ticket.Category, Long> byCategory;
+    // Creators with at least one matching ticket
+    private Map<String, Long> byCreatedBy;
+}
@@ -0,0 +1,32 @@
+package com.support.dto;
+
+import com.support.entity.Ticket;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Criteria for GET /api/tickets/filter. Every field is optional and all present fields must match.
+ */
+@Data
+public class TicketFilter {
+    private Long ticketId;
+    private Ticket.Status status;
+    private Ticket.Priority priority;
+    private Ticket.Category category;
+    // Username of the creator; ignored for employees, who only ever see their own tickets
+    private String createdBy;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdFrom;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime createdTo;
+
+    // Keywords matched against title and description through the search index (hot tickets only)
+    private String q;
+
+    // Also search tickets moved to the archive tables
+    private boolean includeArchived;
+}
@@ -0,0 +1,24 @@
+package com.support.dto;
+
+import com.support.entity.Ticket;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * One ticket in an import file. Same field names as the export, so an export can be re-imported;
+ * the id column is ignored and new ids are assigned.
+ */
+@Data
+public class TicketImportRecord {
+    private String title;
+    private String description;
+    private Ticket.Priority priority;
+    private Ticket.Category category;
+    // Defaults to NEW
+    private Ticket.Status status;
+    // Defaults to the import time
+    private LocalDateTime creationDate;
+    // Defaults to the importing user
+    private String createdByUsername;
+}
@@ -0,0 +1,16 @@
+package com.support.dto;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class TicketImportResult {
+    private long imported;
+    private long rejected;
+    private long elapsedMillis;
+    private double ticketsPerSecond;
+    // First rejected records with their line number, capped to keep the response small
+    private List<String> errors = new ArrayList<>();
+}
@@ -0,0 +1,14 @@
+package com.support.dto;
+
+import com.support.entity.Ticket;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+public class TicketStatsDTO {
+    private long total;
+    private Map<Ticket.Status, Long> byStatus;
+    private Map<Ticket.Priority, Long> byPriority;
+    private Map<Ticket.Category, Long> byCategory;
+}
@@ -0,0 +1,39 @@
+package com.support.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Data
+@Table(name = "audit_logs_archive", indexes = {
+    @Index(name = "idx_audit_logs_archive_ticket_timestamp", columnList = "ticket_id, timestamp, id"),
+    @Index(name = "idx_audit_logs_archive_timestamp", columnList = "timestamp, id"),
+    @Index(name = "idx_audit_logs_archive_action_timestamp", columnList = "action, timestamp, id"),
+    @Index(name = "idx_audit_logs_archive_user_timestamp", columnList = "user_id, timestamp, id")
+})
+public class ArchivedAuditLog {
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "ticket_id", nullable = false)
+    private ArchivedTicket ticket;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(nullable = false)
+    private String action;
+
+    @Column(nullable = false)
+    private String oldValue;
+
+    @Column(nullable = false)
+    private String newValue;
+
+    @Column(nullable = false)
+    private LocalDateTime timestamp;
+}
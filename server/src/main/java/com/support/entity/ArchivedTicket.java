@@ -0,0 +1,62 @@
+package com.support.entity;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * A resolved ticket moved out of the hot tickets table by the archiver. Same columns and id as
+ * the original, plus when it was archived; read-only from the application's point of view.
+ */
+@Entity
+@Data
+@Table(name = "tickets_archive", indexes = {
+    @Index(name = "idx_tickets_archive_creation_date", columnList = "creation_date, id"),
+    @Index(name = "idx_tickets_archive_created_by", columnList = "created_by_id, creation_date, id"),
+    @Index(name = "idx_tickets_archive_status", columnList = "status, creation_date, id"),
+    // The change-version counter is seeded from the highest version in this table as well
+    @Index(name = "idx_tickets_archive_change_version", columnList = "change_version, id")
+})
+public class ArchivedTicket {
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private String title;
+
+    @Column(nullable = false, length = 1000)
+    private String description;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Ticket.Priority priority;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Ticket.Category category;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private Ticket.Status status;
+
+    @Column(nullable = false)
+    private LocalDateTime creationDate;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "created_by_id", nullable = false)
+    private User createdBy;
+
+    @Column(nullable = false)
+    private int commentCount;
+
+    @Column(nullable = false)
+    private LocalDateTime lastActivityAt;
+
+    // Kept so version numbering continues past archived tickets after a restart
+    @Column(nullable = false)
+    private long changeVersion;
+
+    @Column(nullable = false)
+    private LocalDateTime archivedAt;
+}
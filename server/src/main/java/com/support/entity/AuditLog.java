@@ -6,10 +6,16 @@ import java.time.LocalDateTime;
 
 @Entity
 @Data
-@Table(name = "audit_logs")
+@Table(name = "audit_logs", indexes = {
+    @Index(name = "idx_audit_logs_ticket_timestamp", columnList = "ticket_id, timestamp, id"),
+    @Index(name = "idx_audit_logs_timestamp", columnList = "timestamp, id"),
+    @Index(name = "idx_audit_logs_action_timestamp", columnList = "action, timestamp, id"),
+    @Index(name = "idx_audit_logs_user_timestamp", columnList = "user_id, timestamp, id")
+})
 public class AuditLog {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "audit_log_seq")
+    @SequenceGenerator(name = "audit_log_seq", sequenceName = "audit_log_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -1,6 +1,10 @@
 package com.support.entity;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.OptimisticLock;
 import lombok.Data;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -8,10 +12,27 @@ import java.util.List;
 
 @Entity
 @Data
-@Table(name = "tickets")
+// Only changed columns are written, so saving a loaded ticket cannot overwrite a comment
+// count incremented concurrently by CommentService
+@DynamicUpdate
+// Recently active tickets are re-read by status changes and comments; bulk JPQL updates
+// evict the whole region, so per-ticket writes go through the entity instead
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "tickets")
+@Table(name = "tickets", indexes = {
+    // Composite keys match the keyset ORDER BY (creation_date DESC, id DESC) of each list query
+    // The unfiltered first page sorts on this index alone; H2 only walks an index in its declared
+    // direction, so it is declared descending (Oracle scans either way, see init.sql)
+    @Index(name = "idx_tickets_creation_date", columnList = "creation_date DESC, id DESC"),
+    @Index(name = "idx_tickets_created_by", columnList = "created_by_id, creation_date, id"),
+    @Index(name = "idx_tickets_status", columnList = "status, creation_date, id"),
+    // Delta sync reads rows changed after a version in (change_version, id) order
+    @Index(name = "idx_tickets_change_version", columnList = "change_version, id")
+})
 public class Ticket {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Pooled sequence (see init.sql) so inserts can be JDBC-batched; IDENTITY disables batching
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ticket_seq")
+    @SequenceGenerator(name = "ticket_seq", sequenceName = "ticket_seq", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false)
@@ -39,12 +60,41 @@ public class Ticket {
     @JoinColumn(name = "created_by_id", nullable = false)
     private User createdBy;
 
+    // Denormalized for list views so they need no join or COUNT over comments;
+    // kept current by CommentService and by status changes. Comments update these under a row
+    // lock, so they are left out of optimistic locking and never conflict with a status change.
+    @OptimisticLock(excluded = true)
+    @Column(nullable = false)
+    private int commentCount;
+
+    @OptimisticLock(excluded = true)
+    @Column(nullable = false)
+    private LocalDateTime lastActivityAt;
+
+    // Stamped from TicketChangeVersions on create, status change and comment
+    @OptimisticLock(excluded = true)
+    @Column(nullable = false)
+    private long changeVersion;
+
+    // Optimistic lock for status changes: a concurrent change makes the later write fail
+    // instead of silently overwriting the earlier one
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     @OneToMany(mappedBy = "ticket", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<Comment> comments = new ArrayList<>();
 
     @OneToMany(mappedBy = "ticket", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<AuditLog> auditLogs = new ArrayList<>();
 
+    @PrePersist
+    void initLastActivity() {
+        if (lastActivityAt == null) {
+            lastActivityAt = creationDate;
+        }
+    }
+
     public enum Priority {
         LOW, MEDIUM, HIGH
     }
@@ -0,0 +1,25 @@
+package com.support.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Data;
+
+/**
+ * The single row ticket change versions are drawn from, shared by every server. Incrementing it
+ * locks the row until the writing transaction ends, so versions commit in the order they were
+ * allocated and the committed value is a safe high-water mark for delta sync.
+ */
+@Entity
+@Data
+@Table(name = "ticket_change_counter")
+public class TicketChangeCounter {
+    public static final long ID = 1L;
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private long lastVersion;
+}
@@ -1,6 +1,11 @@
 package com.support.entity;
 
+import com.support.security.UserCacheInvalidationListener;
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import lombok.Data;
 import java.util.ArrayList;
 import java.util.List;
@@ -8,11 +13,16 @@ import java.util.List;
 @Entity
 @Data
 @Table(name = "users")
+@EntityListeners(UserCacheInvalidationListener.class)
+// Read on nearly every request and rarely written; cached by id and by username
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-by-username")
 public class User {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @NaturalId
     @Column(nullable = false, unique = true)
     private String username;
 
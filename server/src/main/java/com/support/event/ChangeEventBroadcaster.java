@@ -0,0 +1,363 @@
+package com.support.event;
+
+import com.support.dto.ChangeEventDTO;
+import com.support.entity.User;
+import com.support.security.AuthenticatedUser;
+import jakarta.annotation.PreDestroy;
+import jakarta.servlet.http.HttpServletRequest;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Fans committed ticket and comment changes out to the {@code /api/events} SSE connections.
+ * <p>
+ * Publishing never blocks on a client: each connection has a bounded queue drained by a small
+ * sender pool, at most {@value #DRAIN_BATCH} events at a time so busy connections take turns. A
+ * send that has not finished after {@code support.events.send-timeout} (a client that stopped
+ * reading) gets the connection closed by a watchdog thread of its own. A connection whose queue
+ * overflows is closed once its queued events are sent; the client reconnects with {@code Last-Event-ID} and the missed events are replayed from a ring
+ * of the last {@code support.events.replay-size} changes. A client too far behind for that, or
+ * one that last connected to another server process, gets a {@code reset} event and reloads.
+ */
+@Slf4j
+@Component
+public class ChangeEventBroadcaster {
+    static final String RESET_EVENT = "reset";
+    static final int DRAIN_BATCH = 32;
+
+    // Event ids are "<epoch>-<sequence>", so ids from before a restart are recognised as stale
+    private final long epoch = System.currentTimeMillis();
+    private final int replaySize;
+    private final int queueCapacity;
+    private final Duration timeout;
+    private final Duration sendTimeout;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ExecutorService senders;
+    private final ScheduledExecutorService watchdog;
+
+    // Guarded by this, together with subscription so that no change is missed or sent twice
+    private final Deque<Change> replay = new ArrayDeque<>();
+    private long sequence;
+
+    public ChangeEventBroadcaster(@Value("${support.events.replay-size:1000}") int replaySize,
+                                  @Value("${support.events.queue-capacity:256}") int queueCapacity,
+                                  @Value("${support.events.timeout:PT30M}") Duration timeout,
+                                  @Value("${support.events.sender-threads:4}") int senderThreads,
+                                  @Value("${support.events.send-timeout:PT10S}") Duration sendTimeout) {
+        this.replaySize = replaySize;
+        this.queueCapacity = queueCapacity;
+        this.timeout = timeout;
+        this.sendTimeout = sendTimeout;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.senders = Executors.newFixedThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "sse-sender-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Not the shared scheduler: nothing here may wait on a client, so heartbeats, archiving
+        // and the other scheduled jobs never queue behind a stalled connection
+        this.watchdog = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sse-watchdog");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = sendTimeout.toMillis();
+        watchdog.scheduleAtFixedRate(this::closeStalledConnections, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Opens a stream for the user. With {@code lastEventId} the changes after it are sent first.
+     */
+    public SseEmitter subscribe(AuthenticatedUser user, String lastEventId) {
+        Subscriber subscriber = new Subscriber(createEmitter(timeout), connectionAborter(), user, queueCapacity);
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onError(e -> subscribers.remove(subscriber));
+        // Let the client reconnect instead of answering 503
+        subscriber.emitter.onTimeout(subscriber.emitter::complete);
+
+        synchronized (this) {
+            if (lastEventId != null) {
+                replayTo(subscriber, lastEventId);
+            }
+            subscribers.add(subscriber);
+        }
+        schedule(subscriber);
+        return subscriber.emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        ChangeEventDTO change = new ChangeEventDTO();
+        change.setTicketId(event.getTicket().getId());
+        if (event.getType() == TicketChangedEvent.Type.CREATED) {
+            change.setType(ChangeEventDTO.Type.TICKET_CREATED);
+            change.setTicket(event.getTicket());
+        } else {
+            change.setType(ChangeEventDTO.Type.STATUS_CHANGED);
+            change.setStatus(event.getTicket().getStatus());
+            change.setPreviousStatus(event.getPreviousStatus());
+            change.setLastActivityAt(event.getTicket().getLastActivityAt());
+        }
+        publish(change, event.getTicket().getCreatedByUsername());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCommentAdded(CommentAddedEvent event) {
+        ChangeEventDTO change = new ChangeEventDTO();
+        change.setType(ChangeEventDTO.Type.COMMENT_ADDED);
+        change.setTicketId(event.getTicketId());
+        change.setCommentCount(event.getCommentCount());
+        change.setLastActivityAt(event.getLastActivityAt());
+        publish(change, event.getTicketCreatedByUsername());
+    }
+
+    // Keeps idle connections open through proxies and notices clients that have gone away
+    @Scheduled(fixedRateString = "${support.events.heartbeat:PT30S}")
+    public void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.queue.offer(Message.HEARTBEAT)) {
+                schedule(subscriber);
+            }
+        }
+    }
+
+    /**
+     * Drops connections whose current send has been blocked longer than the send timeout. The
+     * emitter's methods all lock the emitter, which the blocked send holds, so this never calls
+     * them: it stops queueing to the connection and completes the servlet async context instead,
+     * which closes the response under the stalled write. The sender completes the emitter once
+     * that write returns or fails.
+     */
+    public void closeStalledConnections() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long since = subscriber.sendingSince;
+            if (since != 0 && now - since > sendTimeout.toNanos()) {
+                log.debug("Closing event stream of {}: a send has been blocked for over {}",
+                        subscriber.user.getUsername(), sendTimeout);
+                abort(subscriber);
+            }
+        }
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    // Overridden by tests to observe what is sent
+    protected SseEmitter createEmitter(Duration timeout) {
+        return new SseEmitter(timeout.toMillis());
+    }
+
+    /**
+     * Closes the current request's connection without going through its emitter; called on the
+     * request thread while subscribing, run later from the watchdog.
+     */
+    protected Runnable connectionAborter() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (!(attributes instanceof ServletRequestAttributes servletAttributes)) {
+            return () -> { };
+        }
+        HttpServletRequest request = servletAttributes.getRequest();
+        return () -> {
+            try {
+                if (request.isAsyncStarted()) {
+                    request.getAsyncContext().complete();
+                }
+            } catch (IllegalStateException e) {
+                // The request already completed
+            }
+        };
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+        senders.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.sendingSince != 0) {
+                abort(subscriber);
+            } else {
+                subscriber.emitter.complete();
+            }
+        }
+    }
+
+    private void abort(Subscriber subscriber) {
+        subscribers.remove(subscriber);
+        subscriber.aborted = true;
+        subscriber.connectionAborter.run();
+    }
+
+    private synchronized void publish(ChangeEventDTO change, String ticketCreatedByUsername) {
+        Change entry = new Change(++sequence, change, ticketCreatedByUsername);
+        replay.addLast(entry);
+        if (replay.size() > replaySize) {
+            replay.removeFirst();
+        }
+
+        Message message = new Message(eventId(entry.sequence()), change.getType().name(), change);
+        for (Subscriber subscriber : subscribers) {
+            if (subscriber.canSee(entry)) {
+                if (!subscriber.queue.offer(message)) {
+                    subscriber.overflowed = true;
+                }
+                schedule(subscriber);
+            }
+        }
+    }
+
+    // Called with the lock held, before the subscriber is registered
+    private void replayTo(Subscriber subscriber, String lastEventId) {
+        long after = parseSequence(lastEventId);
+        Change oldest = replay.peekFirst();
+        boolean missedEvicted = oldest != null ? after < oldest.sequence() - 1 : after < sequence;
+        if (after < 0 || after > sequence || missedEvicted) {
+            subscriber.queue.offer(Message.RESET);
+            return;
+        }
+
+        List<Message> missed = new ArrayList<>();
+        for (Change entry : replay) {
+            if (entry.sequence() > after && subscriber.canSee(entry)) {
+                missed.add(new Message(eventId(entry.sequence()), entry.change().getType().name(), entry.change()));
+            }
+        }
+        if (missed.size() > queueCapacity) {
+            subscriber.queue.offer(Message.RESET);
+            return;
+        }
+        subscriber.queue.addAll(missed);
+    }
+
+    // Sequence from an event id of this process, or -1 when it is malformed or from another one
+    private long parseSequence(String eventId) {
+        int dash = eventId.indexOf('-');
+        try {
+            if (dash < 0 || Long.parseLong(eventId.substring(0, dash)) != epoch) {
+                return -1;
+            }
+            return Long.parseLong(eventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    private void schedule(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            try {
+                senders.execute(() -> drain(subscriber));
+            } catch (RuntimeException e) {
+                // Rejected during shutdown
+                subscriber.draining.set(false);
+            }
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        boolean open = true;
+        try {
+            Message message;
+            int sent = 0;
+            while (sent < DRAIN_BATCH && !subscriber.aborted && (message = subscriber.queue.poll()) != null) {
+                subscriber.sendingSince = System.nanoTime();
+                try {
+                    subscriber.emitter.send(message.toEvent());
+                } finally {
+                    subscriber.sendingSince = 0;
+                }
+                sent++;
+            }
+            if (subscriber.aborted) {
+                // The watchdog gave up on this connection while the send was blocked
+                subscriber.emitter.completeWithError(new TimeoutException("SSE send timed out"));
+                open = false;
+            } else if (subscriber.overflowed && subscriber.queue.isEmpty()) {
+                log.debug("Closing event stream of {}: it fell {} events behind",
+                        subscriber.user.getUsername(), queueCapacity);
+                subscribers.remove(subscriber);
+                subscriber.emitter.complete();
+                open = false;
+            }
+        } catch (IOException | IllegalStateException e) {
+            // The client went away or the emitter already completed
+            subscribers.remove(subscriber);
+            open = false;
+        } finally {
+            subscriber.draining.set(false);
+        }
+        if (open && (!subscriber.queue.isEmpty() || subscriber.overflowed)) {
+            schedule(subscriber);
+        }
+    }
+
+    private record Change(long sequence, ChangeEventDTO change, String ticketCreatedByUsername) {
+    }
+
+    private record Message(String id, String name, Object data) {
+        static final Message HEARTBEAT = new Message(null, null, null);
+        static final Message RESET = new Message(null, RESET_EVENT, "");
+
+        SseEmitter.SseEventBuilder toEvent() {
+            if (name == null) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            SseEmitter.SseEventBuilder event = SseEmitter.event().name(name).data(data);
+            return id != null ? event.id(id) : event;
+        }
+    }
+
+    private static class Subscriber {
+        final SseEmitter emitter;
+        final AuthenticatedUser user;
+        final BlockingQueue<Message> queue;
+        final Runnable connectionAborter;
+        final AtomicBoolean draining = new AtomicBoolean();
+        volatile boolean overflowed;
+        volatile boolean aborted;
+        // System.nanoTime() when the send in progress started, 0 while none is
+        volatile long sendingSince;
+
+        Subscriber(SseEmitter emitter, Runnable connectionAborter, AuthenticatedUser user, int queueCapacity) {
+            this.emitter = emitter;
+            this.connectionAborter = connectionAborter;
+            this.user = user;
+            this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        }
+
+        // Agents see every change, employees only those to their own tickets
+        boolean canSee(Change entry) {
+            return user.getRole() == User.Role.IT_SUPPORT
+                    || user.getUsername().equals(entry.ticketCreatedByUsername());
+        }
+    }
+}
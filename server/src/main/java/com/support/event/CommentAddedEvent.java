@@ -0,0 +1,19 @@
+package com.support.event;
+
+import lombok.Value;
+
+import java.time.LocalDateTime;
+
+/**
+ * Published by CommentService inside the writing transaction; see {@link TicketChangedEvent}.
+ */
+@Value
+public class CommentAddedEvent {
+    Long ticketId;
+    Long commentId;
+    // Username of the ticket's creator, who may follow it
+    String ticketCreatedByUsername;
+    // Ticket counters after the comment
+    int commentCount;
+    LocalDateTime lastActivityAt;
+}
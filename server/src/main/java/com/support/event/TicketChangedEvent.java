@@ -0,0 +1,23 @@
+package com.support.event;
+
+import com.support.dto.TicketDTO;
+import com.support.entity.Ticket;
+import lombok.Value;
+
+/**
+ * Published by TicketService inside the writing transaction. Listeners that keep
+ * derived in-memory state should use {@code @TransactionalEventListener} so they
+ * only see committed changes.
+ */
+@Value
+public class TicketChangedEvent {
+    public enum Type {
+        CREATED, STATUS_CHANGED
+    }
+
+    Type type;
+    // State of the ticket after the change
+    TicketDTO ticket;
+    // Null for CREATED
+    Ticket.Status previousStatus;
+}
@@ -0,0 +1,14 @@
+package com.support.event;
+
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Published by TicketArchiver inside each chunk's transaction, naming the tickets it moved out
+ * of the hot tables; see {@link TicketChangedEvent}.
+ */
+@Value
+public class TicketsArchivedEvent {
+    List<Long> ticketIds;
+}
@@ -0,0 +1,9 @@
+package com.support.repository;
+
+import com.support.entity.ArchivedAuditLog;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ArchivedAuditLogRepository extends JpaRepository<ArchivedAuditLog, Long>, ArchivedAuditLogRepositoryCustom {
+}
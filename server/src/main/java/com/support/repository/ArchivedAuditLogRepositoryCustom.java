@@ -0,0 +1,18 @@
+package com.support.repository;
+
+import com.support.dto.AuditLogDTO;
+import com.support.dto.KeysetCursor;
+import com.support.entity.ArchivedAuditLog;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Same queries as {@link AuditLogRepositoryCustom}, over the archive table.
+ */
+public interface ArchivedAuditLogRepositoryCustom {
+    List<AuditLogDTO> findPage(Specification<ArchivedAuditLog> specification, KeysetCursor after, int limit);
+
+    Stream<AuditLogDTO> stream(Specification<ArchivedAuditLog> specification);
+}
@@ -0,0 +1,26 @@
+package com.support.repository;
+
+import com.support.dto.AuditLogDTO;
+import com.support.dto.KeysetCursor;
+import com.support.entity.ArchivedAuditLog;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+class ArchivedAuditLogRepositoryImpl implements ArchivedAuditLogRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<AuditLogDTO> findPage(Specification<ArchivedAuditLog> specification, KeysetCursor after, int limit) {
+        return AuditLogQueries.findPage(entityManager, ArchivedAuditLog.class, specification, after, limit);
+    }
+
+    @Override
+    public Stream<AuditLogDTO> stream(Specification<ArchivedAuditLog> specification) {
+        return AuditLogQueries.stream(entityManager, ArchivedAuditLog.class, specification);
+    }
+}
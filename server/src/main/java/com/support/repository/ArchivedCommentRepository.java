@@ -0,0 +1,32 @@
+package com.support.repository;
+
+import com.support.dto.CommentDTO;
+import com.support.entity.ArchivedComment;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ArchivedCommentRepository extends JpaRepository<ArchivedComment, Long> {
+    // Same pages as CommentRepository, over comments_archive
+    String DTO_SELECT = "SELECT new com.support.dto.CommentDTO(c.id, c.content, c.ticket.id, u.username, c.createdAt) " +
+                        "FROM ArchivedComment c JOIN c.user u ";
+
+    long countByTicketId(Long ticketId);
+
+    @Query(DTO_SELECT + "WHERE c.ticket.id = :ticketId ORDER BY c.createdAt DESC, c.id DESC")
+    List<CommentDTO> findFirstPageByTicketId(@Param("ticketId") Long ticketId, Pageable limit);
+
+    @Query(DTO_SELECT + "WHERE c.ticket.id = :ticketId AND c.createdAt <= :createdAt " +
+           "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CommentDTO> findPageByTicketIdAfter(@Param("ticketId") Long ticketId,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") Long id,
+                                             Pageable limit);
+}
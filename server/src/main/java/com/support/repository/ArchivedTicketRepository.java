@@ -0,0 +1,83 @@
+package com.support.repository;
+
+import com.support.dto.TicketAttributes;
+import com.support.dto.TicketCount;
+import com.support.entity.ArchivedTicket;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Cold storage for resolved tickets. Rows are moved here by the archiver with set-based
+ * INSERT ... SELECT / DELETE statements, keeping their ids, and are only read afterwards.
+ */
+@Repository
+public interface ArchivedTicketRepository extends JpaRepository<ArchivedTicket, Long>, ArchivedTicketRepositoryCustom {
+    @Query("SELECT new com.support.dto.TicketCount(t.status, t.priority, t.category, COUNT(t)) " +
+           "FROM ArchivedTicket t GROUP BY t.status, t.priority, t.category")
+    List<TicketCount> countByStatusPriorityCategory();
+
+    @Query("SELECT COALESCE(MAX(t.changeVersion), 0) FROM ArchivedTicket t")
+    long findMaxChangeVersion();
+
+    // Forward-only cursor for the facet index; must be consumed inside a transaction and closed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + TicketRepository.EXPORT_FETCH_SIZE))
+    @Query("SELECT new com.support.dto.TicketAttributes(t.id, t.status, t.priority, t.category, u.username) " +
+           "FROM ArchivedTicket t JOIN t.createdBy u")
+    Stream<TicketAttributes> streamAttributes();
+
+    // Copy statements; run before the matching deletes, in the same transaction. Each native statement
+    // names the one table it writes, so Hibernate only invalidates the cache regions mapped to that table
+    // instead of the whole second-level cache
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tickets_archive"))
+    @Query(value = "INSERT INTO tickets_archive " +
+                   "(id, title, description, priority, category, status, creation_date, created_by_id, " +
+                   "comment_count, last_activity_at, change_version, archived_at) " +
+                   "SELECT id, title, description, priority, category, status, creation_date, created_by_id, " +
+                   "comment_count, last_activity_at, change_version, :archivedAt " +
+                   "FROM tickets WHERE id IN (:ids)", nativeQuery = true)
+    int copyTickets(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "comments_archive"))
+    @Query(value = "INSERT INTO comments_archive (id, content, ticket_id, user_id, created_at) " +
+                   "SELECT id, content, ticket_id, user_id, created_at FROM comments WHERE ticket_id IN (:ids)",
+           nativeQuery = true)
+    int copyComments(@Param("ids") Collection<Long> ticketIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "audit_logs_archive"))
+    @Query(value = "INSERT INTO audit_logs_archive (id, ticket_id, user_id, action, old_value, new_value, timestamp) " +
+                   "SELECT id, ticket_id, user_id, action, old_value, new_value, timestamp " +
+                   "FROM audit_logs WHERE ticket_id IN (:ids)", nativeQuery = true)
+    int copyAuditLogs(@Param("ids") Collection<Long> ticketIds);
+
+    // Children first, so the foreign keys to tickets hold at every step
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "audit_logs"))
+    @Query(value = "DELETE FROM audit_logs WHERE ticket_id IN (:ids)", nativeQuery = true)
+    int deleteHotAuditLogs(@Param("ids") Collection<Long> ticketIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "comments"))
+    @Query(value = "DELETE FROM comments WHERE ticket_id IN (:ids)", nativeQuery = true)
+    int deleteHotComments(@Param("ids") Collection<Long> ticketIds);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "tickets"))
+    @Query(value = "DELETE FROM tickets WHERE id IN (:ids)", nativeQuery = true)
+    int deleteHotTickets(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,15 @@
+package com.support.repository;
+
+import com.support.dto.KeysetCursor;
+import com.support.dto.TicketDTO;
+import com.support.entity.ArchivedTicket;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+/**
+ * Same keyset page as {@link TicketRepositoryCustom}, over the archive table.
+ */
+public interface ArchivedTicketRepositoryCustom {
+    List<TicketDTO> findPage(Specification<ArchivedTicket> specification, KeysetCursor after, int limit);
+}
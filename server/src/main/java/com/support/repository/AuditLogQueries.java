@@ -0,0 +1,74 @@
+package com.support.repository;
+
+import com.support.dto.AuditLogDTO;
+import com.support.dto.KeysetCursor;
+import com.support.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * AuditLogDTO projections ordered by (timestamp DESC, id DESC), shared by the hot (AuditLog)
+ * and archived (ArchivedAuditLog) tables, which map the same attribute names.
+ */
+final class AuditLogQueries {
+    static final int STREAM_FETCH_SIZE = 500;
+
+    private AuditLogQueries() {
+    }
+
+    static <T> List<AuditLogDTO> findPage(EntityManager entityManager, Class<T> entityType,
+                                          Specification<T> specification, KeysetCursor after, int limit) {
+        return query(entityManager, entityType, specification, after)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    static <T> Stream<AuditLogDTO> stream(EntityManager entityManager, Class<T> entityType,
+                                          Specification<T> specification) {
+        return query(entityManager, entityType, specification, null)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, STREAM_FETCH_SIZE)
+                .getResultStream();
+    }
+
+    private static <T> TypedQuery<AuditLogDTO> query(EntityManager entityManager, Class<T> entityType,
+                                                     Specification<T> specification, KeysetCursor after) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<AuditLogDTO> query = cb.createQuery(AuditLogDTO.class);
+        Root<T> log = query.from(entityType);
+        Join<T, User> user = log.join("user");
+
+        query.select(cb.construct(AuditLogDTO.class,
+                log.get("id"), log.get("ticket").get("id"), user.get("username"), log.get("action"),
+                log.get("oldValue"), log.get("newValue"), log.get("timestamp")));
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(log, query, cb);
+            if (predicate != null) {
+                predicates.add(predicate);
+            }
+        }
+        Path<LocalDateTime> timestamp = log.get("timestamp");
+        Path<Long> id = log.get("id");
+        if (after != null) {
+            predicates.add(Keyset.after(cb, timestamp, id, after));
+        }
+
+        query.where(predicates.toArray(new Predicate[0]))
+                .orderBy(Keyset.newestFirst(cb, timestamp, id));
+        return entityManager.createQuery(query);
+    }
+}
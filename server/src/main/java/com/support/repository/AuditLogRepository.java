@@ -1,13 +1,9 @@
 package com.support.repository;
 
 import com.support.entity.AuditLog;
-import com.support.entity.Ticket;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
-import java.util.List;
-
 @Repository
-public interface AuditLogRepository extends JpaRepository<AuditLog, Long> {
-    List<AuditLog> findByTicketOrderByTimestampDesc(Ticket ticket);
-} 
\ No newline at end of file
+public interface AuditLogRepository extends JpaRepository<AuditLog, Long>, AuditLogRepositoryCustom {
+}
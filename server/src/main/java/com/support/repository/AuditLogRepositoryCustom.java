@@ -0,0 +1,23 @@
+package com.support.repository;
+
+import com.support.dto.AuditLogDTO;
+import com.support.dto.KeysetCursor;
+import com.support.entity.AuditLog;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface AuditLogRepositoryCustom {
+    /**
+     * One keyset page of DTO projections matching the specification, ordered by
+     * (timestamp DESC, id DESC) and starting after the cursor when one is given.
+     */
+    List<AuditLogDTO> findPage(Specification<AuditLog> specification, KeysetCursor after, int limit);
+
+    /**
+     * Every match in the same order, read through a forward-only cursor. Must be consumed
+     * inside a transaction and closed.
+     */
+    Stream<AuditLogDTO> stream(Specification<AuditLog> specification);
+}
@@ -0,0 +1,34 @@
+package com.support.repository;
+
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+
+/**
+ * Composable audit log predicates, each a plain column comparison covered by an audit_logs index.
+ * Generic so they apply to both {@code AuditLog} and {@code ArchivedAuditLog}.
+ */
+public final class AuditLogSpecifications {
+    private AuditLogSpecifications() {
+    }
+
+    public static <T> Specification<T> forTicket(Long ticketId) {
+        return (root, query, cb) -> cb.equal(root.get("ticket").get("id"), ticketId);
+    }
+
+    public static <T> Specification<T> byUser(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("user").get("id"), userId);
+    }
+
+    public static <T> Specification<T> hasAction(String action) {
+        return (root, query, cb) -> cb.equal(root.get("action"), action);
+    }
+
+    public static <T> Specification<T> from(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("timestamp"), from);
+    }
+
+    public static <T> Specification<T> before(LocalDateTime to) {
+        return (root, query, cb) -> cb.lessThan(root.get("timestamp"), to);
+    }
+}
@@ -1,12 +1,35 @@
 package com.support.repository;
 
+import com.support.dto.CommentDTO;
 import com.support.entity.Comment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    List<Comment> findByTicketIdOrderByCreatedAtDesc(Long ticketId);
-} 
\ No newline at end of file
+    // Projection joining the author; ticket_id is read from the foreign key column
+    String DTO_SELECT = "SELECT new com.support.dto.CommentDTO(c.id, c.content, c.ticket.id, u.username, c.createdAt) " +
+                        "FROM Comment c JOIN c.user u ";
+
+    // Served from idx_comments_ticket_created without touching the table
+    long countByTicketId(Long ticketId);
+
+    // Keyset pages ordered by (createdAt DESC, id DESC); the Pageable only carries the limit
+
+    @Query(DTO_SELECT + "WHERE c.ticket.id = :ticketId ORDER BY c.createdAt DESC, c.id DESC")
+    List<CommentDTO> findFirstPageByTicketId(@Param("ticketId") Long ticketId, Pageable limit);
+
+    @Query(DTO_SELECT + "WHERE c.ticket.id = :ticketId AND c.createdAt <= :createdAt " +
+           "AND (c.createdAt < :createdAt OR (c.createdAt = :createdAt AND c.id < :id)) " +
+           "ORDER BY c.createdAt DESC, c.id DESC")
+    List<CommentDTO> findPageByTicketIdAfter(@Param("ticketId") Long ticketId,
+                                             @Param("createdAt") LocalDateTime createdAt,
+                                             @Param("id") Long id,
+                                             Pageable limit);
+}
@@ -0,0 +1,32 @@
+package com.support.repository;
+
+import com.support.dto.KeysetCursor;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Order;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Criteria counterparts of the keyset clauses used by the JPQL list queries:
+ * ORDER BY (timestamp DESC, id DESC) and "strictly after the cursor" in that order.
+ */
+final class Keyset {
+    private Keyset() {
+    }
+
+    static Predicate after(CriteriaBuilder cb, Path<LocalDateTime> timestamp, Path<Long> id, KeysetCursor cursor) {
+        // The redundant "timestamp <= :cursor" gives the planner an index range to seek on
+        return cb.and(
+                cb.lessThanOrEqualTo(timestamp, cursor.getTimestamp()),
+                cb.or(
+                        cb.lessThan(timestamp, cursor.getTimestamp()),
+                        cb.and(cb.equal(timestamp, cursor.getTimestamp()), cb.lessThan(id, cursor.getId()))));
+    }
+
+    static List<Order> newestFirst(CriteriaBuilder cb, Path<LocalDateTime> timestamp, Path<Long> id) {
+        return List.of(cb.desc(timestamp), cb.desc(id));
+    }
+}
@@ -0,0 +1,22 @@
+package com.support.repository;
+
+import com.support.entity.TicketChangeCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface TicketChangeCounterRepository extends JpaRepository<TicketChangeCounter, Long> {
+    // Takes the row lock that orders version-stamping transactions; held until commit or rollback
+    @Modifying
+    @Query("UPDATE TicketChangeCounter c SET c.lastVersion = c.lastVersion + 1 WHERE c.id = :id")
+    int increment(@Param("id") Long id);
+
+    // A scalar read, so it always goes to the database rather than a cached entity
+    @Query("SELECT c.lastVersion FROM TicketChangeCounter c WHERE c.id = :id")
+    Optional<Long> findLastVersion(@Param("id") Long id);
+}
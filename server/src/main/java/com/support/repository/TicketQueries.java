@@ -0,0 +1,59 @@
+package com.support.repository;
+
+import com.support.dto.KeysetCursor;
+import com.support.dto.TicketDTO;
+import com.support.entity.User;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keyset-paginated TicketDTO projection shared by the hot (Ticket) and archived
+ * (ArchivedTicket) tables, which map the same attribute names.
+ */
+final class TicketQueries {
+    private TicketQueries() {
+    }
+
+    static <T> List<TicketDTO> findPage(EntityManager entityManager, Class<T> entityType,
+                                        Specification<T> specification, KeysetCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TicketDTO> query = cb.createQuery(TicketDTO.class);
+        Root<T> ticket = query.from(entityType);
+        Join<T, User> creator = ticket.join("createdBy");
+
+        query.select(cb.construct(TicketDTO.class,
+                ticket.get("id"), ticket.get("title"), ticket.get("description"), ticket.get("priority"),
+                ticket.get("category"), ticket.get("status"), ticket.get("creationDate"), creator.get("username"),
+                ticket.get("commentCount"), ticket.get("lastActivityAt"), ticket.get("changeVersion")));
+
+        List<Predicate> predicates = new ArrayList<>();
+        if (specification != null) {
+            Predicate predicate = specification.toPredicate(ticket, query, cb);
+            if (predicate != null) {
+                predicates.add(predicate);
+            }
+        }
+        Path<LocalDateTime> creationDate = ticket.get("creationDate");
+        Path<Long> id = ticket.get("id");
+        if (after != null) {
+            predicates.add(Keyset.after(cb, creationDate, id, after));
+        }
+
+        query.where(predicates.toArray(new Predicate[0]))
+                .orderBy(Keyset.newestFirst(cb, creationDate, id));
+
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -1,15 +1,167 @@
 package com.support.repository;
 
+import com.support.dto.KeysetCursor;
+import com.support.dto.TicketAttributes;
+import com.support.dto.TicketCount;
+import com.support.dto.TicketDTO;
 import com.support.entity.Ticket;
 import com.support.entity.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TicketRepository extends JpaRepository<Ticket, Long> {
+public interface TicketRepository extends JpaRepository<Ticket, Long>, TicketRepositoryCustom {
+    // Projection joining the creator so list endpoints run a single statement
+    int EXPORT_FETCH_SIZE = 500;
+
+    String DTO_SELECT = "SELECT new com.support.dto.TicketDTO(t.id, t.title, t.description, t.priority, " +
+                        "t.category, t.status, t.creationDate, u.username, t.commentCount, t.lastActivityAt, " +
+                        "t.changeVersion) " +
+                        "FROM Ticket t JOIN t.createdBy u ";
+
     List<Ticket> findByCreatedBy(User user);
     List<Ticket> findByStatus(Ticket.Status status);
     List<Ticket> findByCreatedByAndStatus(User user, Ticket.Status status);
-} 
\ No newline at end of file
+
+    // Forward-only cursor for exports; must be consumed inside a transaction and closed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query(DTO_SELECT + "ORDER BY t.id")
+    Stream<TicketDTO> streamAll();
+
+    // Same cursor rules as streamAll; feeds the facet index
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE))
+    @Query("SELECT new com.support.dto.TicketAttributes(t.id, t.status, t.priority, t.category, u.username) " +
+           "FROM Ticket t JOIN t.createdBy u")
+    Stream<TicketAttributes> streamAttributes();
+
+    @Query("SELECT new com.support.dto.TicketCount(t.status, t.priority, t.category, COUNT(t)) " +
+           "FROM Ticket t GROUP BY t.status, t.priority, t.category")
+    List<TicketCount> countByStatusPriorityCategory();
+
+    @Query(DTO_SELECT + "WHERE t.id = :id")
+    Optional<TicketDTO> findDtoById(@Param("id") Long id);
+
+    @Query(DTO_SELECT + "WHERE t.id IN :ids")
+    List<TicketDTO> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Row locks taken before a bulk status change, in id order so two overlapping bulk updates cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Ticket t WHERE t.id IN :ids ORDER BY t.id")
+    List<Ticket> lockAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    // Set-based status change for bulk updates; returns the number of rows changed. The rows share
+    // one change version. Evicts the Ticket cache region, which is acceptable for an occasional bulk operation.
+    // Bumps the optimistic lock version so a single update racing with it fails instead of overwriting it.
+    @Modifying
+    @Query("UPDATE Ticket t SET t.status = :status, t.lastActivityAt = :at, t.changeVersion = :version, " +
+           "t.version = t.version + 1 WHERE t.id IN :ids AND t.status <> :status")
+    int updateStatusByIdIn(@Param("ids") Collection<Long> ids, @Param("status") Ticket.Status status,
+                           @Param("at") LocalDateTime at, @Param("version") long version);
+
+    // Row lock for updating the denormalized comment counters without losing concurrent increments.
+    // Unlike a JPQL UPDATE, which evicts the whole Ticket cache region, the change goes through the entity.
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Ticket t WHERE t.id = :id")
+    Optional<Ticket> lockById(@Param("id") Long id);
+
+    @Query("SELECT COALESCE(MAX(t.changeVersion), 0) FROM Ticket t")
+    long findMaxChangeVersion();
+
+    // Delta sync: rows changed after a version up to a stable high-water mark, in (changeVersion, id)
+    // order so a page can end in the middle of a bulk update that stamped many rows with one version
+
+    @Query(DTO_SELECT + "WHERE t.changeVersion > :since AND t.changeVersion <= :upTo ORDER BY t.changeVersion, t.id")
+    List<TicketDTO> findFirstChangedPage(@Param("since") long since, @Param("upTo") long upTo, Pageable limit);
+
+    @Query(DTO_SELECT + "WHERE t.changeVersion >= :version AND t.changeVersion <= :upTo " +
+           "AND (t.changeVersion > :version OR t.id > :id) ORDER BY t.changeVersion, t.id")
+    List<TicketDTO> findChangedPageAfter(@Param("version") long version, @Param("id") Long id,
+                                         @Param("upTo") long upTo, Pageable limit);
+
+    @Query(DTO_SELECT + "WHERE t.createdBy.id = :userId AND t.changeVersion > :since AND t.changeVersion <= :upTo " +
+           "ORDER BY t.changeVersion, t.id")
+    List<TicketDTO> findFirstChangedPageByCreatedBy(@Param("userId") Long userId, @Param("since") long since,
+                                                    @Param("upTo") long upTo, Pageable limit);
+
+    @Query(DTO_SELECT + "WHERE t.createdBy.id = :userId AND t.changeVersion >= :version AND t.changeVersion <= :upTo " +
+           "AND (t.changeVersion > :version OR t.id > :id) ORDER BY t.changeVersion, t.id")
+    List<TicketDTO> findChangedPageByCreatedByAfter(@Param("userId") Long userId, @Param("version") long version,
+                                                    @Param("id") Long id, @Param("upTo") long upTo, Pageable limit);
+
+    // Archiving candidates, oldest first: tickets in the given status created before the cutoff
+    // with no comment or status change since. Ascending keyset so each chunk resumes after the last.
+
+    String ARCHIVE_CANDIDATES = "SELECT new com.support.dto.KeysetCursor(t.creationDate, t.id) FROM Ticket t " +
+                                "WHERE t.status = :status AND t.creationDate < :cutoff " +
+                                "AND t.lastActivityAt < :cutoff ";
+
+    @Query(ARCHIVE_CANDIDATES + "ORDER BY t.creationDate, t.id")
+    List<KeysetCursor> findFirstArchiveCandidates(@Param("status") Ticket.Status status,
+                                                  @Param("cutoff") LocalDateTime cutoff,
+                                                  Pageable limit);
+
+    @Query(ARCHIVE_CANDIDATES +
+           "AND (t.creationDate > :creationDate OR (t.creationDate = :creationDate AND t.id > :id)) " +
+           "ORDER BY t.creationDate, t.id")
+    List<KeysetCursor> findArchiveCandidatesAfter(@Param("status") Ticket.Status status,
+                                                  @Param("cutoff") LocalDateTime cutoff,
+                                                  @Param("creationDate") LocalDateTime creationDate,
+                                                  @Param("id") Long id,
+                                                  Pageable limit);
+
+    // Row locks for one archive chunk; tickets that left the status since being selected are skipped
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Ticket t WHERE t.id IN :ids AND t.status = :status")
+    List<Ticket> lockByIdInAndStatus(@Param("ids") Collection<Long> ids, @Param("status") Ticket.Status status);
+
+    // Keyset pages ordered by (creationDate DESC, id DESC); the Pageable only carries the limit.
+    // The redundant "creationDate <= :creationDate" gives the planner an index range to seek on.
+
+    @Query(DTO_SELECT + "ORDER BY t.creationDate DESC, t.id DESC")
+    List<TicketDTO> findFirstPage(Pageable limit);
+
+    @Query(DTO_SELECT +
+           "WHERE t.creationDate <= :creationDate " +
+           "AND (t.creationDate < :creationDate OR (t.creationDate = :creationDate AND t.id < :id)) " +
+           "ORDER BY t.creationDate DESC, t.id DESC")
+    List<TicketDTO> findPageAfter(@Param("creationDate") LocalDateTime creationDate,
+                                  @Param("id") Long id,
+                                  Pageable limit);
+
+    @Query(DTO_SELECT + "WHERE t.createdBy.id = :userId ORDER BY t.creationDate DESC, t.id DESC")
+    List<TicketDTO> findFirstPageByCreatedBy(@Param("userId") Long userId, Pageable limit);
+
+    @Query(DTO_SELECT + "WHERE t.createdBy.id = :userId AND t.creationDate <= :creationDate " +
+           "AND (t.creationDate < :creationDate OR (t.creationDate = :creationDate AND t.id < :id)) " +
+           "ORDER BY t.creationDate DESC, t.id DESC")
+    List<TicketDTO> findPageByCreatedByAfter(@Param("userId") Long userId,
+                                             @Param("creationDate") LocalDateTime creationDate,
+                                             @Param("id") Long id,
+                                             Pageable limit);
+
+    @Query(DTO_SELECT + "WHERE t.status = :status ORDER BY t.creationDate DESC, t.id DESC")
+    List<TicketDTO> findFirstPageByStatus(@Param("status") Ticket.Status status, Pageable limit);
+
+    @Query(DTO_SELECT + "WHERE t.status = :status AND t.creationDate <= :creationDate " +
+           "AND (t.creationDate < :creationDate OR (t.creationDate = :creationDate AND t.id < :id)) " +
+           "ORDER BY t.creationDate DESC, t.id DESC")
+    List<TicketDTO> findPageByStatusAfter(@Param("status") Ticket.Status status,
+                                          @Param("creationDate") LocalDateTime creationDate,
+                                          @Param("id") Long id,
+                                          Pageable limit);
+}
@@ -0,0 +1,16 @@
+package com.support.repository;
+
+import com.support.dto.KeysetCursor;
+import com.support.dto.TicketDTO;
+import com.support.entity.Ticket;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+public interface TicketRepositoryCustom {
+    /**
+     * One keyset page of DTO projections matching the specification, ordered by
+     * (creationDate DESC, id DESC) and starting after the cursor when one is given.
+     */
+    List<TicketDTO> findPage(Specification<Ticket> specification, KeysetCursor after, int limit);
+}
@@ -0,0 +1,20 @@
+package com.support.repository;
+
+import com.support.dto.KeysetCursor;
+import com.support.dto.TicketDTO;
+import com.support.entity.Ticket;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+
+class TicketRepositoryImpl implements TicketRepositoryCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TicketDTO> findPage(Specification<Ticket> specification, KeysetCursor after, int limit) {
+        return TicketQueries.findPage(entityManager, Ticket.class, specification, after, limit);
+    }
+}
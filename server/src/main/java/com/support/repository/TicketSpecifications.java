@@ -0,0 +1,50 @@
+package com.support.repository;
+
+import com.support.entity.Ticket;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Composable ticket predicates. Each one maps to a plain column comparison so the
+ * combined WHERE clause can be served by the ticket indexes. Generic so the same filter
+ * applies to {@code Ticket} and {@code ArchivedTicket}, which share attribute names.
+ */
+public final class TicketSpecifications {
+    private TicketSpecifications() {
+    }
+
+    public static <T> Specification<T> hasId(Long id) {
+        return (root, query, cb) -> cb.equal(root.get("id"), id);
+    }
+
+    public static <T> Specification<T> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    public static <T> Specification<T> hasStatus(Ticket.Status status) {
+        return (root, query, cb) -> cb.equal(root.get("status"), status);
+    }
+
+    public static <T> Specification<T> hasPriority(Ticket.Priority priority) {
+        return (root, query, cb) -> cb.equal(root.get("priority"), priority);
+    }
+
+    public static <T> Specification<T> hasCategory(Ticket.Category category) {
+        return (root, query, cb) -> cb.equal(root.get("category"), category);
+    }
+
+    public static <T> Specification<T> createdBy(Long userId) {
+        // Compares the foreign key column, no join to users
+        return (root, query, cb) -> cb.equal(root.get("createdBy").get("id"), userId);
+    }
+
+    public static <T> Specification<T> createdFrom(LocalDateTime from) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("creationDate"), from);
+    }
+
+    public static <T> Specification<T> createdBefore(LocalDateTime to) {
+        return (root, query, cb) -> cb.lessThan(root.get("creationDate"), to);
+    }
+}
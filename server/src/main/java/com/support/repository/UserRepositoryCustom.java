@@ -0,0 +1,13 @@
+package com.support.repository;
+
+import com.support.entity.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+    /**
+     * Looks the user up by natural id, so a repeated lookup is answered from the
+     * second-level cache instead of a query on users.username.
+     */
+    Optional<User> findByUsername(String username);
+}
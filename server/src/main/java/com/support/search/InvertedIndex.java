@@ -0,0 +1,242 @@
+package com.support.search;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+
+/**
+ * Thread-safe in-memory inverted index ranked with Okapi BM25.
+ * Posting lists hold primitive document ids and term frequencies in growable arrays.
+ * <p>
+ * Removal is lazy: a removed document stops matching at once, but its postings stay until
+ * removed documents make up a quarter of the index and every posting list is compacted. Until
+ * then the term statistics still count them, which only nudges the ranking.
+ */
+public class InvertedIndex {
+    private static final Pattern SPLITTER = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "for", "from", "has", "in", "is", "it",
+            "its", "of", "on", "or", "that", "the", "this", "to", "was", "were", "with");
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final double K1 = 1.2;
+    private static final double B = 0.75;
+
+    private final Map<String, PostingList> postings = new HashMap<>();
+    private final Map<Long, Integer> documentLengths = new HashMap<>();
+    // Removed since the last compaction, their postings still in place
+    private final Set<Long> removed = new HashSet<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private long totalLength;
+
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        for (String token : SPLITTER.split(text.toLowerCase(Locale.ROOT))) {
+            if (token.length() >= MIN_TOKEN_LENGTH && !STOP_WORDS.contains(token)) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Indexes a document once; re-adding a known id is a no-op.
+     * Title terms count twice so matches in the title outrank the description.
+     */
+    public void add(long id, String title, String body) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = 0;
+        for (String token : tokenize(title)) {
+            frequencies.merge(token, 2, Integer::sum);
+            length += 2;
+        }
+        for (String token : tokenize(body)) {
+            frequencies.merge(token, 1, Integer::sum);
+            length++;
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (documentLengths.containsKey(id)) {
+                return;
+            }
+            if (removed.contains(id)) {
+                // Its old postings would come back to life
+                compact();
+            }
+            documentLengths.put(id, length);
+            totalLength += length;
+            for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+                postings.computeIfAbsent(entry.getKey(), term -> new PostingList()).add(id, entry.getValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Drops a document; unknown ids are ignored. */
+    public void remove(long id) {
+        lock.writeLock().lock();
+        try {
+            Integer length = documentLengths.remove(id);
+            if (length == null) {
+                return;
+            }
+            totalLength -= length;
+            removed.add(id);
+            if (removed.size() * 4L > documentLengths.size() + removed.size()) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(long id) {
+        lock.readLock().lock();
+        try {
+            return documentLengths.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documentLengths.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the ids of the best matching documents, highest BM25 score first.
+     * A document matches when it contains at least one query term.
+     */
+    public List<Long> search(String query, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        Map<Long, Double> scores = new HashMap<>();
+        lock.readLock().lock();
+        try {
+            int documentCount = documentLengths.size();
+            if (documentCount == 0) {
+                return List.of();
+            }
+            double averageLength = Math.max(1.0, (double) totalLength / documentCount);
+
+            for (String term : terms) {
+                PostingList list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                double idf = Math.log(1 + (documentCount - list.size + 0.5) / (list.size + 0.5));
+                for (int i = 0; i < list.size; i++) {
+                    long id = list.ids[i];
+                    Integer length = documentLengths.get(id);
+                    if (length == null) {
+                        continue;
+                    }
+                    int frequency = list.frequencies[i];
+                    double norm = K1 * (1 - B + B * length / averageLength);
+                    scores.merge(id, idf * frequency * (K1 + 1) / (frequency + norm), Double::sum);
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        // Keep only the top hits: min-heap on score, newest id wins ties
+        PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(limit + 1,
+                Map.Entry.<Long, Double>comparingByValue().thenComparing(Map.Entry.comparingByKey()));
+        for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+            top.offer(entry);
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        Long[] ranked = new Long[top.size()];
+        for (int i = ranked.length - 1; i >= 0; i--) {
+            ranked[i] = top.poll().getKey();
+        }
+        return Arrays.asList(ranked);
+    }
+
+    /** Ids of every document containing at least one query term, in ascending order. */
+    public List<Long> matches(String query) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        Set<Long> ids = new HashSet<>();
+        lock.readLock().lock();
+        try {
+            for (String term : terms) {
+                PostingList list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                for (int i = 0; i < list.size; i++) {
+                    if (documentLengths.containsKey(list.ids[i])) {
+                        ids.add(list.ids[i]);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        List<Long> sorted = new ArrayList<>(ids);
+        sorted.sort(null);
+        return sorted;
+    }
+
+    // Caller holds the write lock
+    private void compact() {
+        postings.values().removeIf(list -> list.retainAll(documentLengths) == 0);
+        removed.clear();
+    }
+
+    private static final class PostingList {
+        private long[] ids = new long[4];
+        private int[] frequencies = new int[4];
+        private int size;
+
+        void add(long id, int frequency) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            ids[size] = id;
+            frequencies[size] = frequency;
+            size++;
+        }
+
+        // Keeps only postings of live documents; returns how many remain
+        int retainAll(Map<Long, Integer> live) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (live.containsKey(ids[i])) {
+                    ids[kept] = ids[i];
+                    frequencies[kept] = frequencies[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            return kept;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.support.search;
+
+import com.support.dto.TicketAttributes;
+import com.support.dto.TicketDTO;
+import com.support.dto.TicketFacetsDTO;
+import com.support.entity.Ticket;
+import com.support.event.TicketChangedEvent;
+import com.support.repository.ArchivedTicketRepository;
+import com.support.repository.TicketRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * One {@link IdBitmap} of ticket ids per status, priority, category and creator, so facet
+ * queries are set operations in memory instead of GROUP BYs. Built from the database when the
+ * application starts and kept current by the ticket change events TicketService publishes.
+ * Like {@code TicketStatistics}, archived tickets stay counted, so archiving changes nothing here.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TicketFacetIndex {
+    public static final int MAX_IDS = 1000;
+
+    private final TicketRepository ticketRepository;
+    private final ArchivedTicketRepository archivedTicketRepository;
+    private final Map<Ticket.Status, IdBitmap> byStatus = bitmaps(Ticket.Status.class);
+    private final Map<Ticket.Priority, IdBitmap> byPriority = bitmaps(Ticket.Priority.class);
+    private final Map<Ticket.Category, IdBitmap> byCategory = bitmaps(Ticket.Category.class);
+    private final Map<String, IdBitmap> byCreator = new HashMap<>();
+    private final IdBitmap all = new IdBitmap();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    // Changes committing while the tables are read wait for the lock and are applied on top
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        long indexed;
+        lock.writeLock().lock();
+        try {
+            try (Stream<TicketAttributes> tickets = ticketRepository.streamAttributes()) {
+                tickets.forEach(this::add);
+            }
+            try (Stream<TicketAttributes> tickets = archivedTicketRepository.streamAttributes()) {
+                tickets.forEach(this::add);
+            }
+            indexed = all.cardinality();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Indexed {} tickets for facets in {} ms", indexed, System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        TicketDTO ticket = event.getTicket();
+        lock.writeLock().lock();
+        try {
+            if (event.getType() == TicketChangedEvent.Type.CREATED) {
+                add(new TicketAttributes(ticket.getId(), ticket.getStatus(), ticket.getPriority(),
+                        ticket.getCategory(), ticket.getCreatedByUsername()));
+            } else if (event.getType() == TicketChangedEvent.Type.STATUS_CHANGED) {
+                byStatus.get(event.getPreviousStatus()).remove(ticket.getId());
+                byStatus.get(ticket.getStatus()).add(ticket.getId());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Tickets matching any of the selected values of each facet, for every facet with a selection
+     * (OR within a facet, AND across facets); an empty selection does not restrict. Each facet's
+     * counts apply only the other facets' selections, so they tell what choosing a different value
+     * would return.
+     */
+    public TicketFacetsDTO query(Collection<Ticket.Status> statuses, Collection<Ticket.Priority> priorities,
+                                 Collection<Ticket.Category> categories, Collection<String> creators, int limit) {
+        int maxIds = Math.max(0, Math.min(limit, MAX_IDS));
+        TicketFacetsDTO facets = new TicketFacetsDTO();
+        lock.readLock().lock();
+        try {
+            IdBitmap status = union(byStatus, statuses);
+            IdBitmap priority = union(byPriority, priorities);
+            IdBitmap category = union(byCategory, categories);
+            IdBitmap creator = union(byCreator, creators);
+
+            IdBitmap matches = intersect(status, priority, category, creator);
+            facets.setTotal(matches.cardinality());
+            facets.setTicketIds(Arrays.stream(matches.highest(maxIds)).boxed().toList());
+            facets.setByStatus(counts(byStatus, intersect(priority, category, creator), new EnumMap<>(Ticket.Status.class)));
+            facets.setByPriority(counts(byPriority, intersect(status, category, creator), new EnumMap<>(Ticket.Priority.class)));
+            facets.setByCategory(counts(byCategory, intersect(status, priority, creator), new EnumMap<>(Ticket.Category.class)));
+
+            Map<String, Long> byCreatedBy = counts(byCreator, intersect(status, priority, category), new TreeMap<>());
+            byCreatedBy.values().removeIf(count -> count == 0);
+            facets.setByCreatedBy(byCreatedBy);
+        } finally {
+            lock.readLock().unlock();
+        }
+        return facets;
+    }
+
+    private void add(TicketAttributes ticket) {
+        long id = ticket.getId();
+        all.add(id);
+        byStatus.get(ticket.getStatus()).add(id);
+        byPriority.get(ticket.getPriority()).add(id);
+        byCategory.get(ticket.getCategory()).add(id);
+        byCreator.computeIfAbsent(ticket.getCreatedByUsername(), username -> new IdBitmap()).add(id);
+    }
+
+    // Null when nothing is selected, meaning the facet does not restrict
+    private static <K> IdBitmap union(Map<K, IdBitmap> bitmaps, Collection<K> selected) {
+        if (selected == null || selected.isEmpty()) {
+            return null;
+        }
+        IdBitmap union = new IdBitmap();
+        for (K value : selected) {
+            IdBitmap bitmap = bitmaps.get(value);
+            if (bitmap != null) {
+                union = union.or(bitmap);
+            }
+        }
+        return union;
+    }
+
+    // May return the live "all" bitmap; only read under the read lock
+    private IdBitmap intersect(IdBitmap... selections) {
+        IdBitmap result = all;
+        for (IdBitmap selection : selections) {
+            if (selection != null) {
+                result = result.and(selection);
+            }
+        }
+        return result;
+    }
+
+    private static <K> Map<K, Long> counts(Map<K, IdBitmap> bitmaps, IdBitmap base, Map<K, Long> counts) {
+        for (Map.Entry<K, IdBitmap> entry : bitmaps.entrySet()) {
+            counts.put(entry.getKey(), base.andCardinality(entry.getValue()));
+        }
+        return counts;
+    }
+
+    private static <E extends Enum<E>> Map<E, IdBitmap> bitmaps(Class<E> type) {
+        Map<E, IdBitmap> bitmaps = new EnumMap<>(type);
+        for (E value : type.getEnumConstants()) {
+            bitmaps.put(value, new IdBitmap());
+        }
+        return bitmaps;
+    }
+}
@@ -0,0 +1,81 @@
+package com.support.search;
+
+import com.support.dto.TicketDTO;
+import com.support.event.TicketChangedEvent;
+import com.support.event.TicketsArchivedEvent;
+import com.support.repository.TicketRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+/**
+ * Keyword index over the titles and descriptions of hot tickets. Built from the database when
+ * the application starts, extended as tickets are created and trimmed as they are archived, so
+ * searches never scan the table.
+ * <p>
+ * The index lags the database: it changes in listeners that run after the writing transaction
+ * commits. {@link #generation()} moves on after every change, so anything keyed off search
+ * results can tell when the index has caught up.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TicketSearchIndex {
+    private final TicketRepository ticketRepository;
+    private final InvertedIndex index = new InvertedIndex();
+    // A restarted server rebuilds the index from scratch, so its generations start a new series
+    private final String instance = Long.toHexString(ThreadLocalRandom.current().nextLong());
+    private final AtomicLong changes = new AtomicLong();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        try (Stream<TicketDTO> tickets = ticketRepository.streamAll()) {
+            tickets.forEach(this::add);
+        }
+        log.info("Indexed {} tickets for search in {} ms", index.size(), System.currentTimeMillis() - start);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        if (event.getType() == TicketChangedEvent.Type.CREATED) {
+            add(event.getTicket());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketsArchived(TicketsArchivedEvent event) {
+        for (Long id : event.getTicketIds()) {
+            index.remove(id);
+        }
+        changes.incrementAndGet();
+    }
+
+    /** Identifies the current contents of this server's index; changes after every add or removal. */
+    public String generation() {
+        return instance + "." + changes.get();
+    }
+
+    public List<Long> search(String query, int limit) {
+        return index.search(query, limit);
+    }
+
+    public List<Long> matches(String query) {
+        return index.matches(query);
+    }
+
+    private void add(TicketDTO ticket) {
+        index.add(ticket.getId(), ticket.getTitle(), ticket.getDescription());
+        changes.incrementAndGet();
+    }
+}
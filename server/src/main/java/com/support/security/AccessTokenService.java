@@ -0,0 +1,188 @@
+package com.support.security;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.support.dto.AuthResponse;
+import com.support.dto.UserDTO;
+import com.support.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Issues and verifies compact HS256 tokens (JWT layout) carrying the user id, name and role.
+ * Verification is a single HMAC over the token: no database access and no password hashing.
+ * All nodes must share {@code support.security.token.secret} to accept each other's tokens.
+ * <p>
+ * A token also carries a stamp of the password hash it was issued against. Refreshing checks the
+ * stamp and the role against the stored user, so a token cannot outlive a password change, a
+ * demotion or a deleted account by more than its own lifetime.
+ */
+@Slf4j
+@Service
+public class AccessTokenService {
+    public static final String TOKEN_TYPE = "Bearer";
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    // HS256 keys shorter than the hash output weaken the signature
+    static final int MIN_SECRET_BYTES = 32;
+    private static final int CREDENTIAL_STAMP_BYTES = 16;
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+    private static final String HEADER = ENCODER.encodeToString(
+            "{\"alg\":\"HS256\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+    private final ObjectMapper objectMapper;
+    private final SecretKeySpec signingKey;
+    private final Duration ttl;
+    private final Clock clock;
+    private final ThreadLocal<Mac> mac = ThreadLocal.withInitial(this::newMac);
+
+    public AccessTokenService(ObjectMapper objectMapper,
+                              @Value("${support.security.token.secret:}") String secret,
+                              @Value("${support.security.token.ttl:PT15M}") Duration ttl) {
+        this.objectMapper = objectMapper;
+        this.ttl = ttl;
+        this.clock = Clock.systemUTC();
+
+        byte[] key;
+        if (secret == null || secret.isBlank()) {
+            log.warn("support.security.token.secret is not set; tokens will only be valid on this node until restart");
+            key = new byte[32];
+            new SecureRandom().nextBytes(key);
+        } else {
+            key = secret.getBytes(StandardCharsets.UTF_8);
+            if (key.length < MIN_SECRET_BYTES) {
+                throw new IllegalStateException("support.security.token.secret must be at least "
+                        + MIN_SECRET_BYTES + " bytes long");
+            }
+        }
+        this.signingKey = new SecretKeySpec(key, HMAC_ALGORITHM);
+    }
+
+    public AuthResponse issue(User user) {
+        Instant now = clock.instant();
+        Instant expiresAt = now.plus(ttl);
+
+        Map<String, Object> claims = new LinkedHashMap<>();
+        claims.put("sub", user.getUsername());
+        claims.put("uid", user.getId());
+        claims.put("name", user.getFullName());
+        claims.put("role", user.getRole().name());
+        claims.put("cst", credentialStamp(user.getPassword()));
+        claims.put("iat", now.getEpochSecond());
+        claims.put("exp", expiresAt.getEpochSecond());
+
+        String payload;
+        try {
+            payload = ENCODER.encodeToString(objectMapper.writeValueAsBytes(claims));
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize token claims", e);
+        }
+        String signingInput = HEADER + "." + payload;
+        String token = signingInput + "." + ENCODER.encodeToString(sign(signingInput));
+
+        return new AuthResponse(token, TOKEN_TYPE, expiresAt, toUserDTO(user));
+    }
+
+    /**
+     * Issues a new token from the stored user rather than from the presented credentials. A bearer
+     * token must have been issued against the current password; Basic credentials have just been
+     * checked against it by the authentication provider.
+     */
+    public AuthResponse refresh(User storedUser, String authorization) {
+        String prefix = TOKEN_TYPE + " ";
+        if (authorization != null && authorization.regionMatches(true, 0, prefix, 0, prefix.length())) {
+            String stamp = verifiedClaims(authorization.substring(prefix.length()).trim())
+                    .map(claims -> claims.path("cst").asText())
+                    .orElse("");
+            if (!stamp.equals(credentialStamp(storedUser.getPassword()))) {
+                throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Credentials have changed, log in again");
+            }
+        }
+        return issue(storedUser);
+    }
+
+    public Optional<AuthenticatedUser> verify(String token) {
+        return verifiedClaims(token).map(claims -> new AuthenticatedUser(
+                claims.path("uid").asLong(),
+                claims.path("sub").asText(),
+                "",
+                claims.path("name").asText(),
+                User.Role.valueOf(claims.path("role").asText())));
+    }
+
+    // Claims of a well-formed, correctly signed and unexpired token
+    private Optional<JsonNode> verifiedClaims(String token) {
+        int firstDot = token.indexOf('.');
+        int lastDot = token.lastIndexOf('.');
+        if (firstDot < 0 || firstDot == lastDot || !HEADER.equals(token.substring(0, firstDot))) {
+            return Optional.empty();
+        }
+
+        try {
+            byte[] expected = sign(token.substring(0, lastDot));
+            byte[] actual = DECODER.decode(token.substring(lastDot + 1));
+            if (!MessageDigest.isEqual(expected, actual)) {
+                return Optional.empty();
+            }
+
+            JsonNode claims = objectMapper.readTree(DECODER.decode(token.substring(firstDot + 1, lastDot)));
+            if (clock.instant().getEpochSecond() >= claims.path("exp").asLong()) {
+                return Optional.empty();
+            }
+            // Rejects unknown roles here rather than when the principal is built
+            User.Role.valueOf(claims.path("role").asText());
+            return Optional.of(claims);
+        } catch (IOException | IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
+    // Keyed, truncated digest of the password hash: changes with the password, reveals nothing about it
+    private String credentialStamp(String passwordHash) {
+        byte[] digest = sign("cst:" + passwordHash);
+        return ENCODER.encodeToString(Arrays.copyOf(digest, CREDENTIAL_STAMP_BYTES));
+    }
+
+    private static UserDTO toUserDTO(User user) {
+        UserDTO dto = new UserDTO();
+        dto.setId(user.getId());
+        dto.setUsername(user.getUsername());
+        dto.setFullName(user.getFullName());
+        dto.setRole(user.getRole());
+        return dto;
+    }
+
+    private byte[] sign(String signingInput) {
+        return mac.get().doFinal(signingInput.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac instance = Mac.getInstance(HMAC_ALGORITHM);
+            instance.init(signingKey);
+            return instance;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+}
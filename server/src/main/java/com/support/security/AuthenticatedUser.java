@@ -0,0 +1,39 @@
+package com.support.security;
+
+import com.support.dto.UserDTO;
+import com.support.entity.User;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collections;
+
+/**
+ * Principal carrying the identity facts services need, so they do not
+ * have to reload the user row on every request.
+ */
+@Getter
+@EqualsAndHashCode(callSuper = true)
+public class AuthenticatedUser extends org.springframework.security.core.userdetails.User {
+    private static final long serialVersionUID = 1L;
+
+    private final Long id;
+    private final String fullName;
+    private final User.Role role;
+
+    public AuthenticatedUser(Long id, String username, String password, String fullName, User.Role role) {
+        super(username, password, Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role.name())));
+        this.id = id;
+        this.fullName = fullName;
+        this.role = role;
+    }
+
+    public UserDTO toUserDTO() {
+        UserDTO dto = new UserDTO();
+        dto.setId(id);
+        dto.setUsername(getUsername());
+        dto.setFullName(fullName);
+        dto.setRole(role);
+        return dto;
+    }
+}
@@ -0,0 +1,68 @@
+package com.support.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Base64;
+
+/**
+ * Bounded, expiring cache of successfully verified HTTP Basic credentials.
+ * Entries are keyed by an HMAC of "username:password" (the decoded Authorization
+ * header) under a per-process random key, so raw passwords are never retained.
+ */
+@Component
+public class CredentialCache {
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+
+    private final Cache<String, Authentication> cache;
+    private final SecretKeySpec hmacKey;
+    private final ThreadLocal<Mac> mac = ThreadLocal.withInitial(this::newMac);
+
+    public CredentialCache(@Value("${support.security.credential-cache.max-size:10000}") long maxSize,
+                           @Value("${support.security.credential-cache.ttl:PT5M}") Duration ttl) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .build();
+
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        this.hmacKey = new SecretKeySpec(key, HMAC_ALGORITHM);
+    }
+
+    public String keyFor(String username, String password) {
+        byte[] digest = mac.get().doFinal((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+        return Base64.getEncoder().encodeToString(digest);
+    }
+
+    public Authentication get(String key) {
+        return cache.getIfPresent(key);
+    }
+
+    public void put(String key, Authentication authentication) {
+        cache.put(key, authentication);
+    }
+
+    public void evictUser(String username) {
+        cache.asMap().values().removeIf(authentication -> username.equals(authentication.getName()));
+    }
+
+    private Mac newMac() {
+        try {
+            Mac instance = Mac.getInstance(HMAC_ALGORITHM);
+            instance.init(hmacKey);
+            return instance;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HMAC-SHA256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.support.security;
+
+import com.support.entity.User;
+import com.support.repository.UserRepository;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the caller of the current request. The principal is built once when the
+ * request is authenticated (Basic via UserService, bearer tokens via AccessTokenService),
+ * so services get the user id and role without querying the users table.
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentUserProvider {
+    private final UserRepository userRepository;
+
+    public AuthenticatedUser get() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            throw new EntityNotFoundException("User not found");
+        }
+        if (authentication.getPrincipal() instanceof AuthenticatedUser principal) {
+            return principal;
+        }
+
+        // Authentication that did not go through our providers (e.g. test setups)
+        User user = userRepository.findByUsername(authentication.getName())
+                .orElseThrow(() -> new EntityNotFoundException("User not found"));
+        return new AuthenticatedUser(user.getId(), user.getUsername(), "", user.getFullName(), user.getRole());
+    }
+}
@@ -0,0 +1,36 @@
+package com.support.security;
+
+import com.support.entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Drops cached credentials whenever a user row changes (password, role, ...).
+ * Evicts immediately and again after commit, so a request racing the transaction
+ * cannot re-cache the old state.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserCacheInvalidationListener {
+    private final CredentialCache credentialCache;
+
+    @PostUpdate
+    @PostRemove
+    public void onUserChanged(User user) {
+        String username = user.getUsername();
+        credentialCache.evictUser(username);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    credentialCache.evictUser(username);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.support.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.support.dto.AuditLogDTO;
+import com.support.dto.AuditLogFilter;
+import com.support.dto.CursorPage;
+import com.support.dto.KeysetCursor;
+import com.support.entity.ArchivedAuditLog;
+import com.support.entity.AuditLog;
+import com.support.entity.User;
+import com.support.repository.ArchivedAuditLogRepository;
+import com.support.repository.AuditLogRepository;
+import com.support.repository.AuditLogSpecifications;
+import com.support.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Read side of the audit trail. Every combination of filters runs as one range scan over an
+ * audit_logs index, newest first; with includeArchived the same scan also runs over
+ * audit_logs_archive and the two ordered results are merged.
+ */
+@Service
+@RequiredArgsConstructor
+public class AuditLogService {
+    private static final Comparator<AuditLogDTO> NEWEST_FIRST = Comparator.comparing(AuditLogDTO::getTimestamp)
+            .thenComparing(AuditLogDTO::getId)
+            .reversed();
+
+    private final AuditLogRepository auditLogRepository;
+    private final ArchivedAuditLogRepository archivedAuditLogRepository;
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public CursorPage<AuditLogDTO> search(AuditLogFilter filter, String cursor, int size) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int limit = CursorPage.clampPageSize(size);
+
+        Optional<Long> userId = resolveUser(filter);
+        if (hasUsername(filter) && userId.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+
+        List<AuditLogDTO> logs = auditLogRepository.findPage(toSpecification(filter, userId), after, CursorPage.fetchSize(limit));
+        if (filter.isIncludeArchived()) {
+            List<AuditLogDTO> archived = archivedAuditLogRepository.findPage(
+                    toSpecification(filter, userId), after, CursorPage.fetchSize(limit));
+            if (!archived.isEmpty()) {
+                logs = new ArrayList<>(logs);
+                logs.addAll(archived);
+                logs.sort(NEWEST_FIRST);
+            }
+        }
+        return CursorPage.of(logs, limit, last -> new KeysetCursor(last.getTimestamp(), last.getId()).encode());
+    }
+
+    /**
+     * Writes every matching entry as NDJSON straight from a database cursor, for ranges
+     * too large to page through.
+     */
+    @Transactional(readOnly = true)
+    public void export(AuditLogFilter filter, OutputStream out) throws IOException {
+        Optional<Long> userId = resolveUser(filter);
+        if (hasUsername(filter) && userId.isEmpty()) {
+            return;
+        }
+
+        Specification<AuditLog> hot = toSpecification(filter, userId);
+        Specification<ArchivedAuditLog> archived = toSpecification(filter, userId);
+        try (Stream<AuditLogDTO> logs = auditLogRepository.stream(hot);
+             Stream<AuditLogDTO> archivedLogs = filter.isIncludeArchived()
+                     ? archivedAuditLogRepository.stream(archived)
+                     : Stream.empty()) {
+            NdjsonWriter.write(objectMapper, AuditLogDTO.class,
+                    mergeNewestFirst(logs.iterator(), archivedLogs.iterator()), out);
+        }
+    }
+
+    // Empty without a username, or when the named user does not exist and nothing can match
+    private Optional<Long> resolveUser(AuditLogFilter filter) {
+        if (!hasUsername(filter)) {
+            return Optional.empty();
+        }
+        return userRepository.findByUsername(filter.getUsername()).map(User::getId);
+    }
+
+    private static boolean hasUsername(AuditLogFilter filter) {
+        return filter.getUsername() != null && !filter.getUsername().isBlank();
+    }
+
+    private static <T> Specification<T> toSpecification(AuditLogFilter filter, Optional<Long> userId) {
+        Specification<T> spec = Specification.where(null);
+        if (userId.isPresent()) {
+            spec = spec.and(AuditLogSpecifications.byUser(userId.get()));
+        }
+        if (filter.getTicketId() != null) {
+            spec = spec.and(AuditLogSpecifications.forTicket(filter.getTicketId()));
+        }
+        if (filter.getAction() != null && !filter.getAction().isBlank()) {
+            spec = spec.and(AuditLogSpecifications.hasAction(filter.getAction()));
+        }
+        if (filter.getFrom() != null) {
+            spec = spec.and(AuditLogSpecifications.from(filter.getFrom()));
+        }
+        if (filter.getTo() != null) {
+            spec = spec.and(AuditLogSpecifications.before(filter.getTo()));
+        }
+        return spec;
+    }
+
+    /**
+     * Merges two iterators that are each ordered newest first, as both audit tables are scanned.
+     */
+    private static Iterator<AuditLogDTO> mergeNewestFirst(Iterator<AuditLogDTO> first, Iterator<AuditLogDTO> second) {
+        return new Iterator<>() {
+            private AuditLogDTO nextFirst = first.hasNext() ? first.next() : null;
+            private AuditLogDTO nextSecond = second.hasNext() ? second.next() : null;
+
+            @Override
+            public boolean hasNext() {
+                return nextFirst != null || nextSecond != null;
+            }
+
+            @Override
+            public AuditLogDTO next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                AuditLogDTO result;
+                if (nextSecond == null || (nextFirst != null && NEWEST_FIRST.compare(nextFirst, nextSecond) <= 0)) {
+                    result = nextFirst;
+                    nextFirst = first.hasNext() ? first.next() : null;
+                } else {
+                    result = nextSecond;
+                    nextSecond = second.hasNext() ? second.next() : null;
+                }
+                return result;
+            }
+        };
+    }
+}
@@ -2,60 +2,101 @@ package com.support.service;
 
 import com.support.dto.AddCommentRequest;
 import com.support.dto.CommentDTO;
+import com.support.dto.CommentPage;
+import com.support.dto.CursorPage;
+import com.support.dto.KeysetCursor;
 import com.support.entity.Comment;
 import com.support.entity.Ticket;
 import com.support.entity.User;
+import com.support.event.CommentAddedEvent;
+import com.support.repository.ArchivedCommentRepository;
 import com.support.repository.CommentRepository;
 import com.support.repository.TicketRepository;
 import com.support.repository.UserRepository;
+import com.support.security.AuthenticatedUser;
+import com.support.security.CurrentUserProvider;
+import com.support.sync.TicketChangeVersions;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class CommentService {
     private final CommentRepository commentRepository;
+    private final ArchivedCommentRepository archivedCommentRepository;
     private final TicketRepository ticketRepository;
     private final UserRepository userRepository;
+    private final CurrentUserProvider currentUserProvider;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TicketChangeVersions changeVersions;
 
     @Transactional
     public CommentDTO addComment(AddCommentRequest request) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
+        AuthenticatedUser current = currentUserProvider.get();
+        User user = userRepository.getReferenceById(current.getId());
 
-        Ticket ticket = ticketRepository.findById(request.getTicketId())
+        Ticket ticket = ticketRepository.lockById(request.getTicketId())
                 .orElseThrow(() -> new EntityNotFoundException("Ticket not found"));
+        ticket.setCommentCount(ticket.getCommentCount() + 1);
+        ticket.setLastActivityAt(LocalDateTime.now());
+        ticket.setChangeVersion(changeVersions.next());
 
         Comment comment = new Comment();
         comment.setContent(request.getContent());
         comment.setTicket(ticket);
         comment.setUser(user);
         comment = commentRepository.save(comment);
+        eventPublisher.publishEvent(new CommentAddedEvent(ticket.getId(), comment.getId(),
+                ticket.getCreatedBy().getUsername(), ticket.getCommentCount(), ticket.getLastActivityAt()));
 
-        return convertToDTO(comment);
+        return convertToDTO(comment, current.getUsername());
     }
 
+    /**
+     * One keyset page of a ticket's comments, newest first. The total comes from a COUNT over
+     * the (ticket_id, created_at, id) index, so it stays cheap however long the thread is.
+     */
     @Transactional(readOnly = true)
-    public List<CommentDTO> getCommentsForTicket(Long ticketId) {
-        return commentRepository.findByTicketIdOrderByCreatedAtDesc(ticketId)
-                .stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+    public CommentPage getCommentsForTicket(Long ticketId, String cursor, int size, boolean includeArchived) {
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int limit = CursorPage.clampPageSize(size);
+        Pageable fetch = PageRequest.of(0, CursorPage.fetchSize(limit));
+
+        List<CommentDTO> comments = List.of();
+        long total = commentRepository.countByTicketId(ticketId);
+        if (total > 0) {
+            comments = after == null
+                    ? commentRepository.findFirstPageByTicketId(ticketId, fetch)
+                    : commentRepository.findPageByTicketIdAfter(ticketId, after.getTimestamp(), after.getId(), fetch);
+        } else if (includeArchived) {
+            // A ticket is either hot or archived, so its comments are all in one table
+            total = archivedCommentRepository.countByTicketId(ticketId);
+            if (total > 0) {
+                comments = after == null
+                        ? archivedCommentRepository.findFirstPageByTicketId(ticketId, fetch)
+                        : archivedCommentRepository.findPageByTicketIdAfter(ticketId, after.getTimestamp(), after.getId(), fetch);
+            }
+        }
+
+        CursorPage<CommentDTO> page = CursorPage.of(comments, limit,
+                last -> new KeysetCursor(last.getCreatedAt(), last.getId()).encode());
+        return new CommentPage(page.getItems(), page.getNextCursor(), total);
     }
 
-    private CommentDTO convertToDTO(Comment comment) {
+    private CommentDTO convertToDTO(Comment comment, String username) {
         CommentDTO dto = new CommentDTO();
         dto.setId(comment.getId());
         dto.setContent(comment.getContent());
         dto.setTicketId(comment.getTicket().getId());
-        dto.setUsername(comment.getUser().getUsername());
+        dto.setUsername(username);
         dto.setCreatedAt(comment.getCreatedAt());
         return dto;
     }
@@ -0,0 +1,39 @@
+package com.support.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+/**
+ * Newline-delimited JSON for the streaming exports: one object per line, every line terminated,
+ * nothing at all for an empty input. The output stream is left open.
+ */
+final class NdjsonWriter {
+    private NdjsonWriter() {
+    }
+
+    static <T> void write(ObjectMapper objectMapper, Class<T> type, Iterator<? extends T> values,
+                          OutputStream out) throws IOException {
+        // Flushing after every value would turn each row into its own network write. The generator
+        // separates root values with a space by default; the newline goes between them instead
+        ObjectWriter writer = objectMapper.writerFor(type)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .withRootValueSeparator("\n");
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (!values.hasNext()) {
+                return;
+            }
+            while (values.hasNext()) {
+                writer.writeValue(generator, values.next());
+            }
+            // Terminate the last line too
+            generator.writeRaw('\n');
+        }
+    }
+}
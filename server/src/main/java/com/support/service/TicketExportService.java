@@ -0,0 +1,87 @@
+package com.support.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.support.dto.TicketDTO;
+import com.support.repository.TicketRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Streams every ticket straight from a database cursor to the response.
+ * Rows are DTO projections written one at a time, so heap usage does not grow with the table.
+ */
+@Service
+@RequiredArgsConstructor
+public class TicketExportService {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String CSV_HEADER = "id,title,description,priority,category,status,creationDate,createdByUsername";
+
+    public enum Format {
+        NDJSON, CSV
+    }
+
+    private final TicketRepository ticketRepository;
+    private final ObjectMapper objectMapper;
+
+    @Transactional(readOnly = true)
+    public void export(Format format, OutputStream out) throws IOException {
+        try (Stream<TicketDTO> tickets = ticketRepository.streamAll()) {
+            if (format == Format.CSV) {
+                writeCsv(tickets.iterator(), out);
+            } else {
+                NdjsonWriter.write(objectMapper, TicketDTO.class, tickets.iterator(), out);
+            }
+        }
+    }
+
+    private void writeCsv(Iterator<TicketDTO> tickets, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (tickets.hasNext()) {
+            TicketDTO ticket = tickets.next();
+            writer.write(String.valueOf(ticket.getId()));
+            writer.write(',');
+            writeCsvField(writer, ticket.getTitle());
+            writer.write(',');
+            writeCsvField(writer, ticket.getDescription());
+            writer.write(',');
+            writer.write(ticket.getPriority().name());
+            writer.write(',');
+            writer.write(ticket.getCategory().name());
+            writer.write(',');
+            writer.write(ticket.getStatus().name());
+            writer.write(',');
+            writer.write(ticket.getCreationDate().toString());
+            writer.write(',');
+            writeCsvField(writer, ticket.getCreatedByUsername());
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    private void writeCsvField(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
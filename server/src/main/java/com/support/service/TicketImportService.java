@@ -0,0 +1,412 @@
+package com.support.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.support.dto.TicketDTO;
+import com.support.dto.TicketImportRecord;
+import com.support.dto.TicketImportResult;
+import com.support.entity.AuditLog;
+import com.support.entity.Ticket;
+import com.support.entity.User;
+import com.support.event.TicketChangedEvent;
+import com.support.repository.AuditLogRepository;
+import com.support.repository.TicketRepository;
+import com.support.repository.UserRepository;
+import com.support.security.AuthenticatedUser;
+import com.support.security.CurrentUserProvider;
+import com.support.sync.TicketChangeVersions;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Imports tickets from NDJSON or CSV (the export formats) without loading the file into memory.
+ * Records are committed in batches of {@code support.import.batch-size}; with sequence ids and
+ * hibernate.jdbc.batch_size each batch reaches the database as a few multi-row round trips.
+ * A batch that fails is rolled back and reported, batches already committed stay in place.
+ * <p>
+ * Open-in-view binds one EntityManager to the whole upload request, so every batch is detached
+ * once written; otherwise the persistence context would keep each imported ticket until the end.
+ */
+@Slf4j
+@Service
+public class TicketImportService {
+    static final int MAX_REPORTED_ERRORS = 100;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final TicketRepository ticketRepository;
+    private final UserRepository userRepository;
+    private final AuditLogRepository auditLogRepository;
+    private final CurrentUserProvider currentUserProvider;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final TicketChangeVersions changeVersions;
+    private final ObjectMapper objectMapper;
+    private final int batchSize;
+
+    public TicketImportService(TicketRepository ticketRepository,
+                               UserRepository userRepository,
+                               AuditLogRepository auditLogRepository,
+                               CurrentUserProvider currentUserProvider,
+                               ApplicationEventPublisher eventPublisher,
+                               TransactionTemplate transactionTemplate,
+                               EntityManager entityManager,
+                               TicketChangeVersions changeVersions,
+                               ObjectMapper objectMapper,
+                               @Value("${support.import.batch-size:1000}") int batchSize) {
+        this.ticketRepository = ticketRepository;
+        this.userRepository = userRepository;
+        this.auditLogRepository = auditLogRepository;
+        this.currentUserProvider = currentUserProvider;
+        this.eventPublisher = eventPublisher;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManager = entityManager;
+        this.changeVersions = changeVersions;
+        this.objectMapper = objectMapper;
+        this.batchSize = batchSize;
+    }
+
+    public TicketImportResult importTickets(TicketExportService.Format format, InputStream in) throws IOException {
+        AuthenticatedUser importer = currentUserProvider.get();
+        long start = System.nanoTime();
+        TicketImportResult result = new TicketImportResult();
+
+        // Creator ids by username, resolved once per distinct name; empty when the user does not exist
+        Map<String, Optional<Long>> userIds = new HashMap<>();
+        userIds.put(importer.getUsername(), Optional.of(importer.getId()));
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), BUFFER_SIZE);
+        RecordReader records = format == TicketExportService.Format.CSV
+                ? new CsvRecordReader(reader)
+                : new NdjsonRecordReader(reader);
+
+        List<PendingTicket> batch = new ArrayList<>(batchSize);
+        while (true) {
+            TicketImportRecord record;
+            try {
+                record = records.next();
+            } catch (IllegalArgumentException e) {
+                reject(result, records.lineNumber(), e.getMessage());
+                continue;
+            }
+            if (record == null) {
+                break;
+            }
+
+            String error = validate(record);
+            String username = record.getCreatedByUsername() == null || record.getCreatedByUsername().isBlank()
+                    ? importer.getUsername()
+                    : record.getCreatedByUsername();
+            Optional<Long> creatorId = userIds.computeIfAbsent(username,
+                    name -> userRepository.findByUsername(name).map(User::getId));
+            if (error == null && creatorId.isEmpty()) {
+                error = "unknown user '" + username + "'";
+            }
+            if (error != null) {
+                reject(result, records.lineNumber(), error);
+                continue;
+            }
+
+            batch.add(new PendingTicket(records.lineNumber(), record, creatorId.get(), username));
+            if (batch.size() >= batchSize) {
+                flush(batch, importer.getId(), result, start);
+            }
+        }
+        if (!batch.isEmpty()) {
+            flush(batch, importer.getId(), result, start);
+        }
+
+        long elapsedNanos = System.nanoTime() - start;
+        result.setElapsedMillis(elapsedNanos / 1_000_000);
+        result.setTicketsPerSecond(throughput(result.getImported(), elapsedNanos));
+        log.info("Imported {} tickets ({} rejected) in {} ms, {} tickets/s",
+                result.getImported(), result.getRejected(), result.getElapsedMillis(),
+                Math.round(result.getTicketsPerSecond()));
+        return result;
+    }
+
+    private void flush(List<PendingTicket> batch, Long importerId, TicketImportResult result, long start) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> persist(batch, importerId));
+            result.setImported(result.getImported() + batch.size());
+            log.info("Import progress: {} tickets committed, {} rejected, {} tickets/s",
+                    result.getImported(), result.getRejected(),
+                    Math.round(throughput(result.getImported(), System.nanoTime() - start)));
+        } catch (DataAccessException | TransactionException e) {
+            log.warn("Import batch starting at line {} failed", batch.get(0).line(), e);
+            result.setRejected(result.getRejected() + batch.size());
+            addError(result, "lines " + batch.get(0).line() + "-" + batch.get(batch.size() - 1).line()
+                    + ": batch rolled back, " + e.getMostSpecificCause().getMessage());
+        }
+        batch.clear();
+    }
+
+    private void persist(List<PendingTicket> batch, Long importerId) {
+        List<Ticket> tickets = new ArrayList<>(batch.size());
+        List<AuditLog> auditLogs = new ArrayList<>(batch.size());
+        // The batch commits as a unit, so its tickets share one change version
+        long changeVersion = changeVersions.next();
+        for (PendingTicket pending : batch) {
+            TicketImportRecord record = pending.record();
+            Ticket ticket = new Ticket();
+            ticket.setTitle(record.getTitle());
+            ticket.setDescription(record.getDescription());
+            ticket.setPriority(record.getPriority());
+            ticket.setCategory(record.getCategory());
+            ticket.setStatus(record.getStatus() != null ? record.getStatus() : Ticket.Status.NEW);
+            ticket.setCreationDate(record.getCreationDate() != null ? record.getCreationDate() : LocalDateTime.now());
+            ticket.setCreatedBy(userRepository.getReferenceById(pending.creatorId()));
+            ticket.setChangeVersion(changeVersion);
+            tickets.add(ticket);
+
+            AuditLog auditLog = new AuditLog();
+            auditLog.setTicket(ticket);
+            auditLog.setUser(userRepository.getReferenceById(importerId));
+            auditLog.setAction("TICKET_IMPORTED");
+            auditLog.setOldValue("NONE");
+            auditLog.setNewValue(ticket.getStatus().name());
+            auditLogs.add(auditLog);
+        }
+
+        ticketRepository.saveAll(tickets);
+        auditLogRepository.saveAll(auditLogs);
+
+        for (int i = 0; i < tickets.size(); i++) {
+            Ticket ticket = tickets.get(i);
+            TicketDTO dto = new TicketDTO(ticket.getId(), ticket.getTitle(), ticket.getDescription(),
+                    ticket.getPriority(), ticket.getCategory(), ticket.getStatus(), ticket.getCreationDate(),
+                    batch.get(i).username(), 0, ticket.getLastActivityAt(), changeVersion);
+            eventPublisher.publishEvent(new TicketChangedEvent(TicketChangedEvent.Type.CREATED, dto, null));
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private String validate(TicketImportRecord record) {
+        if (record.getTitle() == null || record.getTitle().isBlank()) {
+            return "title is required";
+        }
+        if (record.getTitle().length() > 255) {
+            return "title is longer than 255 characters";
+        }
+        if (record.getDescription() == null || record.getDescription().isBlank()) {
+            return "description is required";
+        }
+        if (record.getDescription().length() > 1000) {
+            return "description is longer than 1000 characters";
+        }
+        if (record.getPriority() == null) {
+            return "priority is required";
+        }
+        if (record.getCategory() == null) {
+            return "category is required";
+        }
+        return null;
+    }
+
+    private void reject(TicketImportResult result, long line, String message) {
+        result.setRejected(result.getRejected() + 1);
+        addError(result, "line " + line + ": " + message);
+    }
+
+    private void addError(TicketImportResult result, String message) {
+        if (result.getErrors().size() < MAX_REPORTED_ERRORS) {
+            result.getErrors().add(message);
+        }
+    }
+
+    private static double throughput(long count, long elapsedNanos) {
+        return elapsedNanos > 0 ? count * 1_000_000_000.0 / elapsedNanos : 0;
+    }
+
+    private record PendingTicket(long line, TicketImportRecord record, Long creatorId, String username) {
+    }
+
+    private interface RecordReader {
+        /**
+         * Next record, or null at the end of the input. Throws IllegalArgumentException for a
+         * malformed record; the reader stays positioned after it so the import can continue.
+         */
+        TicketImportRecord next() throws IOException;
+
+        // Line on which the last returned record started
+        long lineNumber();
+    }
+
+    private class NdjsonRecordReader implements RecordReader {
+        private final BufferedReader reader;
+        private long line;
+
+        NdjsonRecordReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public TicketImportRecord next() throws IOException {
+            String text;
+            do {
+                text = reader.readLine();
+                if (text == null) {
+                    return null;
+                }
+                line++;
+            } while (text.isBlank());
+
+            try {
+                return objectMapper.readValue(text, TicketImportRecord.class);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException(e.getOriginalMessage());
+            }
+        }
+
+        @Override
+        public long lineNumber() {
+            return line;
+        }
+    }
+
+    /**
+     * RFC 4180 CSV with a header row naming the columns. Quoted fields may contain commas,
+     * doubled quotes and line breaks.
+     */
+    private static class CsvRecordReader implements RecordReader {
+        private final BufferedReader reader;
+        private Map<String, Integer> columns;
+        private long line = 1;
+        private long recordLine;
+
+        CsvRecordReader(BufferedReader reader) {
+            this.reader = reader;
+        }
+
+        @Override
+        public TicketImportRecord next() throws IOException {
+            if (columns == null) {
+                List<String> header = readFields();
+                if (header == null) {
+                    return null;
+                }
+                columns = new HashMap<>();
+                for (int i = 0; i < header.size(); i++) {
+                    columns.put(header.get(i).trim(), i);
+                }
+            }
+
+            List<String> fields;
+            do {
+                fields = readFields();
+                if (fields == null) {
+                    return null;
+                }
+            } while (fields.size() == 1 && fields.get(0).isEmpty());
+
+            TicketImportRecord record = new TicketImportRecord();
+            record.setTitle(field(fields, "title"));
+            record.setDescription(field(fields, "description"));
+            record.setPriority(enumField(fields, "priority", Ticket.Priority.class));
+            record.setCategory(enumField(fields, "category", Ticket.Category.class));
+            record.setStatus(enumField(fields, "status", Ticket.Status.class));
+            String creationDate = field(fields, "creationDate");
+            if (creationDate != null) {
+                try {
+                    record.setCreationDate(LocalDateTime.parse(creationDate));
+                } catch (RuntimeException e) {
+                    throw new IllegalArgumentException("invalid creationDate '" + creationDate + "'");
+                }
+            }
+            record.setCreatedByUsername(field(fields, "createdByUsername"));
+            return record;
+        }
+
+        @Override
+        public long lineNumber() {
+            return recordLine;
+        }
+
+        private String field(List<String> fields, String name) {
+            Integer index = columns.get(name);
+            if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+                return null;
+            }
+            return fields.get(index);
+        }
+
+        private <E extends Enum<E>> E enumField(List<String> fields, String name, Class<E> type) {
+            String value = field(fields, name);
+            if (value == null) {
+                return null;
+            }
+            try {
+                return Enum.valueOf(type, value.trim());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("invalid " + name + " '" + value + "'");
+            }
+        }
+
+        // Reads one record, which may span several lines inside quotes; null at end of input
+        private List<String> readFields() throws IOException {
+            recordLine = line;
+            int c = reader.read();
+            if (c == -1) {
+                return null;
+            }
+
+            List<String> fields = new ArrayList<>();
+            StringBuilder field = new StringBuilder();
+            boolean quoted = false;
+            while (c != -1) {
+                if (quoted) {
+                    if (c == '"') {
+                        reader.mark(1);
+                        int next = reader.read();
+                        if (next == '"') {
+                            field.append('"');
+                        } else {
+                            quoted = false;
+                            if (next != -1) {
+                                reader.reset();
+                            }
+                        }
+                    } else {
+                        if (c == '\n') {
+                            line++;
+                        }
+                        field.append((char) c);
+                    }
+                } else if (c == '"' && field.length() == 0) {
+                    quoted = true;
+                } else if (c == ',') {
+                    fields.add(field.toString());
+                    field.setLength(0);
+                } else if (c == '\n') {
+                    line++;
+                    break;
+                } else if (c != '\r') {
+                    field.append((char) c);
+                }
+                c = reader.read();
+            }
+            fields.add(field.toString());
+            return fields;
+        }
+    }
+}
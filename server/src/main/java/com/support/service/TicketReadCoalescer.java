@@ -0,0 +1,45 @@
+package com.support.service;
+
+import com.support.cache.SingleFlight;
+import com.support.cache.TicketDataVersion;
+import com.support.cache.TicketViews;
+import com.support.dto.CursorPage;
+import com.support.dto.TicketDTO;
+import com.support.entity.Ticket;
+import com.support.security.CurrentUserProvider;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Front for the ticket list reads that many agents issue at once (the shift-start stampede):
+ * concurrent calls with the same parameters at the same {@link TicketDataVersion} share one
+ * query. Sits outside the transaction, so waiting callers hold no database connection.
+ */
+@Service
+@RequiredArgsConstructor
+public class TicketReadCoalescer {
+    private final TicketService ticketService;
+    private final CurrentUserProvider currentUserProvider;
+    private final TicketDataVersion dataVersion;
+    private final SingleFlight<ListKey, CursorPage<TicketDTO>> ticketLists = new SingleFlight<>();
+    private final SingleFlight<SearchKey, CursorPage<TicketDTO>> searches = new SingleFlight<>();
+
+    public CursorPage<TicketDTO> getTicketsForCurrentUser(String cursor, int size, boolean includeArchived) {
+        ListKey key = new ListKey(dataVersion.current(), TicketViews.of(currentUserProvider.get()),
+                cursor, size, includeArchived);
+        return ticketLists.execute(key, () -> ticketService.getTicketsForCurrentUser(cursor, size, includeArchived));
+    }
+
+    public CursorPage<TicketDTO> searchTickets(Long ticketId, Ticket.Status status, String cursor, int size,
+                                               boolean includeArchived) {
+        SearchKey key = new SearchKey(dataVersion.current(), ticketId, status, cursor, size, includeArchived);
+        return searches.execute(key, () -> ticketService.searchTickets(ticketId, status, cursor, size, includeArchived));
+    }
+
+    private record ListKey(long version, String view, String cursor, int size, boolean includeArchived) {
+    }
+
+    private record SearchKey(long version, Long ticketId, Ticket.Status status, String cursor, int size,
+                             boolean includeArchived) {
+    }
+}
@@ -1,34 +1,76 @@
 package com.support.service;
 
+import com.support.audit.AuditTrail;
+import com.support.dto.BulkStatusUpdateResult;
+import com.support.dto.ChangeCursor;
 import com.support.dto.CreateTicketRequest;
+import com.support.dto.CursorPage;
+import com.support.dto.KeysetCursor;
+import com.support.dto.TicketChangesDTO;
 import com.support.dto.TicketDTO;
-import com.support.entity.AuditLog;
+import com.support.dto.TicketFilter;
+import com.support.entity.ArchivedTicket;
 import com.support.entity.Ticket;
 import com.support.entity.User;
-import com.support.repository.AuditLogRepository;
+import com.support.event.TicketChangedEvent;
+import com.support.repository.ArchivedTicketRepository;
 import com.support.repository.TicketRepository;
+import com.support.repository.TicketSpecifications;
 import com.support.repository.UserRepository;
+import com.support.search.TicketSearchIndex;
+import com.support.security.AuthenticatedUser;
+import com.support.security.CurrentUserProvider;
+import com.support.sync.TicketChangeVersions;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class TicketService {
+    // Keyword matches pushed into one filter query; Oracle's IN-list limit
+    static final int MAX_KEYWORD_MATCHES = 1000;
+    // Rows read per keyset step when more keywords match than fit in one IN list
+    static final int KEYWORD_SCAN_BATCH = 500;
+    // Attempts at a status change that keeps losing optimistic lock races before giving up with 409
+    static final int MAX_STATUS_UPDATE_ATTEMPTS = 3;
+    private static final Comparator<TicketDTO> NEWEST_FIRST = Comparator.comparing(TicketDTO::getCreationDate)
+            .thenComparing(TicketDTO::getId)
+            .reversed();
+
     private final TicketRepository ticketRepository;
+    private final ArchivedTicketRepository archivedTicketRepository;
     private final UserRepository userRepository;
-    private final AuditLogRepository auditLogRepository;
+    private final AuditTrail auditTrail;
+    private final CurrentUserProvider currentUserProvider;
+    private final TicketSearchIndex ticketSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TicketChangeVersions changeVersions;
+    private final TransactionTemplate transactionTemplate;
 
     @Transactional
     public TicketDTO createTicket(CreateTicketRequest request) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
+        AuthenticatedUser current = currentUserProvider.get();
+        User user = userRepository.getReferenceById(current.getId());
 
         Ticket ticket = new Ticket();
         ticket.setTitle(request.getTitle());
@@ -37,91 +79,386 @@ public class TicketService {
         ticket.setCategory(request.getCategory());
         ticket.setCreatedBy(user);
         ticket.setStatus(Ticket.Status.NEW);
+        ticket.setChangeVersion(changeVersions.next());
 
         ticket = ticketRepository.save(ticket);
 
-        AuditLog auditLog = new AuditLog();
-        auditLog.setTicket(ticket);
-        auditLog.setUser(user);
-        auditLog.setAction("TICKET_CREATED");
-        auditLog.setOldValue("NONE");
-        auditLog.setNewValue(ticket.getStatus().name());
-        auditLogRepository.save(auditLog);
+        auditTrail.record(ticket.getId(), current.getId(), "TICKET_CREATED", "NONE", ticket.getStatus().name());
 
-        return convertToDTO(ticket);
+        // The creator is an uninitialized proxy; take the name from the principal instead of loading it
+        TicketDTO dto = convertToDTO(ticket, current.getUsername());
+        eventPublisher.publishEvent(new TicketChangedEvent(TicketChangedEvent.Type.CREATED, dto, null));
+        return dto;
     }
 
-    @Transactional
     public TicketDTO updateTicketStatus(Long ticketId, Ticket.Status newStatus) {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
+        return updateTicketStatus(ticketId, newStatus, null);
+    }
+
+    /**
+     * Sets a ticket's status. With expectedStatus this is a compare-and-set: the change only
+     * applies while the ticket is still in that status, otherwise 409.
+     * <p>
+     * Concurrent changes are detected by the ticket's version rather than prevented by a row lock.
+     * Setting a status is idempotent, so the loser of a race is re-applied in a new transaction to
+     * the fresh row, which also gives the audit trail the right old value. A ticket already in the
+     * requested status is left untouched.
+     */
+    public TicketDTO updateTicketStatus(Long ticketId, Ticket.Status newStatus, Ticket.Status expectedStatus) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(tx -> applyStatus(ticketId, newStatus, expectedStatus));
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt == MAX_STATUS_UPDATE_ATTEMPTS) {
+                    throw new ResponseStatusException(HttpStatus.CONFLICT,
+                            "Ticket " + ticketId + " keeps changing concurrently, try again", e);
+                }
+            }
+        }
+    }
+
+    private TicketDTO applyStatus(Long ticketId, Ticket.Status newStatus, Ticket.Status expectedStatus) {
+        Long userId = currentUserProvider.get().getId();
 
+        // The ticket and its creator are both served from the second-level cache when warm
         Ticket ticket = ticketRepository.findById(ticketId)
                 .orElseThrow(() -> new EntityNotFoundException("Ticket not found"));
 
-        String oldStatus = ticket.getStatus().name();
+        Ticket.Status oldStatus = ticket.getStatus();
+        if (expectedStatus != null && oldStatus != expectedStatus) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT,
+                    "Ticket " + ticketId + " is " + oldStatus + ", not " + expectedStatus);
+        }
+        if (oldStatus == newStatus) {
+            return convertToDTO(ticket);
+        }
+
         ticket.setStatus(newStatus);
-        ticket = ticketRepository.save(ticket);
+        ticket.setLastActivityAt(LocalDateTime.now());
+        // Flushed here so a lost race fails before anything is audited or published, and so the
+        // row is locked before the change version is allocated
+        ticket = ticketRepository.saveAndFlush(ticket);
+        ticket.setChangeVersion(changeVersions.next());
 
-        createAuditLog(ticket, user, "STATUS_CHANGED", oldStatus, newStatus.name());
+        auditTrail.record(ticket.getId(), userId, "STATUS_CHANGED", oldStatus.name(), newStatus.name());
 
-        return convertToDTO(ticket);
+        TicketDTO dto = convertToDTO(ticket);
+        eventPublisher.publishEvent(new TicketChangedEvent(TicketChangedEvent.Type.STATUS_CHANGED, dto, oldStatus));
+        return dto;
+    }
+
+    /**
+     * Moves many tickets to one status in a fixed number of statements: one SELECT locking the
+     * rows, one UPDATE and one SELECT reading back what it changed, whatever the number of ids.
+     * The locks keep a concurrent update from changing a row between the read and the UPDATE;
+     * results, audit rows and events still only cover rows the UPDATE actually changed.
+     */
+    @Transactional
+    public List<BulkStatusUpdateResult> bulkUpdateStatus(List<Long> ticketIds, Ticket.Status newStatus) {
+        Long userId = currentUserProvider.get().getId();
+        LinkedHashSet<Long> ids = new LinkedHashSet<>(ticketIds);
+
+        Map<Long, Ticket.Status> previousStatuses = new HashMap<>();
+        for (Ticket ticket : ticketRepository.lockAllByIdIn(ids)) {
+            previousStatuses.put(ticket.getId(), ticket.getStatus());
+        }
+        List<Long> toUpdate = new ArrayList<>();
+        for (Map.Entry<Long, Ticket.Status> entry : previousStatuses.entrySet()) {
+            if (entry.getValue() != newStatus) {
+                toUpdate.add(entry.getKey());
+            }
+        }
+
+        Map<Long, TicketDTO> updated = new HashMap<>();
+        if (!toUpdate.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            long changeVersion = changeVersions.next();
+            ticketRepository.updateStatusByIdIn(toUpdate, newStatus, now, changeVersion);
+            for (TicketDTO ticket : ticketRepository.findDtosByIdIn(toUpdate)) {
+                if (ticket.getStatus() == newStatus && ticket.getChangeVersion() == changeVersion) {
+                    updated.put(ticket.getId(), ticket);
+                }
+            }
+        }
+
+        List<BulkStatusUpdateResult> results = new ArrayList<>(ids.size());
+        for (Long id : ids) {
+            Ticket.Status oldStatus = previousStatuses.get(id);
+            TicketDTO ticket = updated.get(id);
+            if (oldStatus == null) {
+                results.add(new BulkStatusUpdateResult(id, BulkStatusUpdateResult.Outcome.NOT_FOUND, null));
+            } else if (ticket == null) {
+                results.add(new BulkStatusUpdateResult(id, BulkStatusUpdateResult.Outcome.UNCHANGED, newStatus));
+            } else {
+                results.add(new BulkStatusUpdateResult(id, BulkStatusUpdateResult.Outcome.UPDATED, oldStatus));
+                auditTrail.record(id, userId, "STATUS_CHANGED", oldStatus.name(), newStatus.name());
+                eventPublisher.publishEvent(new TicketChangedEvent(TicketChangedEvent.Type.STATUS_CHANGED, ticket, oldStatus));
+            }
+        }
+        return results;
     }
 
     @Transactional(readOnly = true)
-    public List<TicketDTO> getTicketsForCurrentUser() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
+    public CursorPage<TicketDTO> getTicketsForCurrentUser(String cursor, int size, boolean includeArchived) {
+        AuthenticatedUser user = currentUserProvider.get();
 
-        List<Ticket> tickets;
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int limit = CursorPage.clampPageSize(size);
+        Pageable fetch = PageRequest.of(0, CursorPage.fetchSize(limit));
+
+        List<TicketDTO> tickets;
         if (user.getRole() == User.Role.IT_SUPPORT) {
-            tickets = ticketRepository.findAll();
+            tickets = after == null
+                    ? ticketRepository.findFirstPage(fetch)
+                    : ticketRepository.findPageAfter(after.getTimestamp(), after.getId(), fetch);
         } else {
-            tickets = ticketRepository.findByCreatedBy(user);
+            tickets = after == null
+                    ? ticketRepository.findFirstPageByCreatedBy(user.getId(), fetch)
+                    : ticketRepository.findPageByCreatedByAfter(user.getId(), after.getTimestamp(), after.getId(), fetch);
         }
 
-        // Sort tickets by creation date in descending order (newest first)
-        tickets.sort((t1, t2) -> t2.getCreationDate().compareTo(t1.getCreationDate()));
+        if (includeArchived) {
+            Specification<ArchivedTicket> archived = user.getRole() == User.Role.IT_SUPPORT
+                    ? Specification.where(null)
+                    : TicketSpecifications.createdBy(user.getId());
+            tickets = mergeNewestFirst(tickets, archivedTicketRepository.findPage(archived, after, CursorPage.fetchSize(limit)));
+        }
 
-        return tickets.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return toPage(tickets, limit);
     }
 
     @Transactional(readOnly = true)
-    public List<TicketDTO> searchTickets(Long ticketId, Ticket.Status status) {
-        List<Ticket> tickets;
+    public CursorPage<TicketDTO> searchTickets(Long ticketId, Ticket.Status status, String cursor, int size,
+                                               boolean includeArchived) {
         if (ticketId != null) {
-            tickets = ticketRepository.findById(ticketId)
+            List<TicketDTO> match = ticketRepository.findDtoById(ticketId)
                     .map(List::of)
                     .orElse(List.of());
-        } else if (status != null) {
-            tickets = ticketRepository.findByStatus(status);
+            if (match.isEmpty() && includeArchived) {
+                match = archivedTicketRepository.findPage(TicketSpecifications.hasId(ticketId), null, 1);
+            }
+            return new CursorPage<>(match, null);
+        }
+
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int limit = CursorPage.clampPageSize(size);
+        Pageable fetch = PageRequest.of(0, CursorPage.fetchSize(limit));
+
+        List<TicketDTO> tickets;
+        if (status != null) {
+            tickets = after == null
+                    ? ticketRepository.findFirstPageByStatus(status, fetch)
+                    : ticketRepository.findPageByStatusAfter(status, after.getTimestamp(), after.getId(), fetch);
         } else {
-            tickets = ticketRepository.findAll();
+            tickets = after == null
+                    ? ticketRepository.findFirstPage(fetch)
+                    : ticketRepository.findPageAfter(after.getTimestamp(), after.getId(), fetch);
         }
 
-        // Sort tickets by creation date in descending order (newest first)
-        tickets.sort((t1, t2) -> t2.getCreationDate().compareTo(t1.getCreationDate()));
+        if (includeArchived) {
+            Specification<ArchivedTicket> archived = status != null
+                    ? TicketSpecifications.hasStatus(status)
+                    : Specification.where(null);
+            tickets = mergeNewestFirst(tickets, archivedTicketRepository.findPage(archived, after, CursorPage.fetchSize(limit)));
+        }
 
-        return tickets.stream()
-                .map(this::convertToDTO)
-                .collect(Collectors.toList());
+        return toPage(tickets, limit);
     }
 
-    private void createAuditLog(Ticket ticket, User user, String action, String oldValue, String newValue) {
-        AuditLog auditLog = new AuditLog();
-        auditLog.setTicket(ticket);
-        auditLog.setUser(user);
-        auditLog.setAction(action);
-        auditLog.setOldValue(oldValue != null ? oldValue : "");
-        auditLog.setNewValue(newValue != null ? newValue : "");
-        auditLogRepository.save(auditLog);
+    /**
+     * Keyword search over title and description, ranked by relevance (BM25) rather than date.
+     * Served from the in-memory index; only the matching rows are read from the database.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<TicketDTO> fullTextSearch(String query, int size) {
+        List<Long> rankedIds = ticketSearchIndex.search(query, CursorPage.clampPageSize(size));
+        if (rankedIds.isEmpty()) {
+            return new CursorPage<>(List.of(), null);
+        }
+
+        Map<Long, TicketDTO> byId = new HashMap<>();
+        for (TicketDTO ticket : ticketRepository.findDtosByIdIn(rankedIds)) {
+            byId.put(ticket.getId(), ticket);
+        }
+
+        List<TicketDTO> ranked = new ArrayList<>(rankedIds.size());
+        for (Long id : rankedIds) {
+            TicketDTO ticket = byId.get(id);
+            if (ticket != null) {
+                ranked.add(ticket);
+            }
+        }
+        return new CursorPage<>(ranked, null);
+    }
+
+    /**
+     * Combines any subset of the filter criteria into a single keyset-paginated query.
+     * Employees are always restricted to their own tickets. With includeArchived the same
+     * criteria also run against the archive and both pages are merged; keyword filters only
+     * cover hot tickets, since archived ones are not in the search index.
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<TicketDTO> filterTickets(TicketFilter filter, String cursor, int size) {
+        AuthenticatedUser user = currentUserProvider.get();
+        KeysetCursor after = KeysetCursor.decode(cursor);
+        int limit = CursorPage.clampPageSize(size);
+
+        Long creatorId = null;
+        if (user.getRole() != User.Role.IT_SUPPORT) {
+            creatorId = user.getId();
+        } else if (filter.getCreatedBy() != null && !filter.getCreatedBy().isBlank()) {
+            creatorId = userRepository.findByUsername(filter.getCreatedBy())
+                    .map(User::getId)
+                    .orElse(null);
+            if (creatorId == null) {
+                return new CursorPage<>(List.of(), null);
+            }
+        }
+
+        if (filter.getQ() != null && !filter.getQ().isBlank()) {
+            List<Long> keywordMatches = ticketSearchIndex.matches(filter.getQ());
+            if (keywordMatches.isEmpty()) {
+                return new CursorPage<>(List.of(), null);
+            }
+            if (keywordMatches.size() <= MAX_KEYWORD_MATCHES) {
+                // Keywords resolve to ids in memory; one keyset query over "id IN (...)" is the page
+                Specification<Ticket> spec = toSpecification(filter, creatorId, keywordMatches);
+                return toPage(ticketRepository.findPage(spec, after, CursorPage.fetchSize(limit)), limit);
+            }
+            return toPage(findKeywordMatches(toSpecification(filter, creatorId, null), new HashSet<>(keywordMatches),
+                    after, CursorPage.fetchSize(limit)), limit);
+        }
+
+        Specification<Ticket> spec = toSpecification(filter, creatorId, null);
+        List<TicketDTO> tickets = ticketRepository.findPage(spec, after, CursorPage.fetchSize(limit));
+
+        if (filter.isIncludeArchived()) {
+            Specification<ArchivedTicket> archived = toSpecification(filter, creatorId, null);
+            tickets = mergeNewestFirst(tickets, archivedTicketRepository.findPage(archived, after, CursorPage.fetchSize(limit)));
+        }
+
+        return toPage(tickets, limit);
+    }
+
+    /**
+     * Too many matches for an IN list, so they are common: walks the filtered tickets in keyset
+     * order and keeps those the index matched, stopping as soon as the page is full.
+     */
+    private List<TicketDTO> findKeywordMatches(Specification<Ticket> spec, Set<Long> keywordMatches,
+                                               KeysetCursor after, int fetchSize) {
+        List<TicketDTO> tickets = new ArrayList<>();
+        KeysetCursor position = after;
+        while (true) {
+            List<TicketDTO> batch = ticketRepository.findPage(spec, position, KEYWORD_SCAN_BATCH);
+            for (TicketDTO ticket : batch) {
+                if (keywordMatches.contains(ticket.getId())) {
+                    tickets.add(ticket);
+                    if (tickets.size() == fetchSize) {
+                        return tickets;
+                    }
+                }
+            }
+            if (batch.size() < KEYWORD_SCAN_BATCH) {
+                return tickets;
+            }
+            TicketDTO last = batch.get(batch.size() - 1);
+            position = new KeysetCursor(last.getCreationDate(), last.getId());
+        }
+    }
+
+    // Same predicates for Ticket and ArchivedTicket, which share attribute names
+    private static <T> Specification<T> toSpecification(TicketFilter filter, Long creatorId, List<Long> keywordMatches) {
+        Specification<T> spec = Specification.where(null);
+        if (creatorId != null) {
+            spec = spec.and(TicketSpecifications.createdBy(creatorId));
+        }
+        if (filter.getTicketId() != null) {
+            spec = spec.and(TicketSpecifications.hasId(filter.getTicketId()));
+        }
+        if (filter.getStatus() != null) {
+            spec = spec.and(TicketSpecifications.hasStatus(filter.getStatus()));
+        }
+        if (filter.getPriority() != null) {
+            spec = spec.and(TicketSpecifications.hasPriority(filter.getPriority()));
+        }
+        if (filter.getCategory() != null) {
+            spec = spec.and(TicketSpecifications.hasCategory(filter.getCategory()));
+        }
+        if (filter.getCreatedFrom() != null) {
+            spec = spec.and(TicketSpecifications.createdFrom(filter.getCreatedFrom()));
+        }
+        if (filter.getCreatedTo() != null) {
+            spec = spec.and(TicketSpecifications.createdBefore(filter.getCreatedTo()));
+        }
+        if (keywordMatches != null) {
+            spec = spec.and(TicketSpecifications.idIn(keywordMatches));
+        }
+        return spec;
+    }
+
+    /**
+     * Merges two pages of disjoint tickets (hot and archived), each already newest first and
+     * holding up to limit + 1 rows, into one list in the same order.
+     */
+    private static List<TicketDTO> mergeNewestFirst(List<TicketDTO> first, List<TicketDTO> second) {
+        if (second.isEmpty()) {
+            return first;
+        }
+        if (first.isEmpty()) {
+            return second;
+        }
+        List<TicketDTO> merged = new ArrayList<>(first.size() + second.size());
+        merged.addAll(first);
+        merged.addAll(second);
+        merged.sort(NEWEST_FIRST);
+        return merged;
+    }
+
+    /**
+     * Tickets changed after {@code since}, oldest change first, so a client can keep its copy
+     * current with a cost proportional to churn. Reads up to {@link TicketChangeVersions#stable()},
+     * never past a change that may still commit; a sync that takes several pages keeps the mark
+     * it started with. Archived tickets are not reported.
+     */
+    @Transactional(readOnly = true)
+    public TicketChangesDTO getChangesSince(long since, String cursor, int size) {
+        AuthenticatedUser user = currentUserProvider.get();
+
+        ChangeCursor after = ChangeCursor.decode(cursor);
+        long highWaterMark = after != null ? after.getHighWaterMark() : changeVersions.stable();
+        if (since > highWaterMark) {
+            // The client saw versions that were never issued (e.g. the database was reset)
+            throw new ResponseStatusException(HttpStatus.GONE, "Version " + since + " is unknown; sync again from the start");
+        }
+        int limit = CursorPage.clampPageSize(size);
+        Pageable fetch = PageRequest.of(0, CursorPage.fetchSize(limit));
+
+        List<TicketDTO> tickets;
+        if (user.getRole() == User.Role.IT_SUPPORT) {
+            tickets = after == null
+                    ? ticketRepository.findFirstChangedPage(since, highWaterMark, fetch)
+                    : ticketRepository.findChangedPageAfter(after.getChangeVersion(), after.getId(), highWaterMark, fetch);
+        } else {
+            tickets = after == null
+                    ? ticketRepository.findFirstChangedPageByCreatedBy(user.getId(), since, highWaterMark, fetch)
+                    : ticketRepository.findChangedPageByCreatedByAfter(user.getId(), after.getChangeVersion(),
+                            after.getId(), highWaterMark, fetch);
+        }
+
+        CursorPage<TicketDTO> page = CursorPage.of(tickets, limit,
+                last -> new ChangeCursor(last.getChangeVersion(), last.getId(), highWaterMark).encode());
+        return new TicketChangesDTO(page.getItems(), page.getNextCursor(), highWaterMark);
+    }
+
+    private static CursorPage<TicketDTO> toPage(List<TicketDTO> tickets, int limit) {
+        return CursorPage.of(tickets, limit, last -> new KeysetCursor(last.getCreationDate(), last.getId()).encode());
     }
 
     private TicketDTO convertToDTO(Ticket ticket) {
+        return convertToDTO(ticket, ticket.getCreatedBy().getUsername());
+    }
+
+    private TicketDTO convertToDTO(Ticket ticket, String createdByUsername) {
         TicketDTO dto = new TicketDTO();
         dto.setId(ticket.getId());
         dto.setTitle(ticket.getTitle());
@@ -130,7 +467,10 @@ public class TicketService {
         dto.setCategory(ticket.getCategory());
         dto.setStatus(ticket.getStatus());
         dto.setCreationDate(ticket.getCreationDate());
-        dto.setCreatedByUsername(ticket.getCreatedBy().getUsername());
+        dto.setCreatedByUsername(createdByUsername);
+        dto.setCommentCount(ticket.getCommentCount());
+        dto.setLastActivityAt(ticket.getLastActivityAt());
+        dto.setChangeVersion(ticket.getChangeVersion());
         return dto;
     }
 } 
\ No newline at end of file
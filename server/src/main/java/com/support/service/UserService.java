@@ -3,24 +3,25 @@ package com.support.service;
 import com.support.dto.UserDTO;
 import com.support.entity.User;
 import com.support.repository.UserRepository;
+import com.support.security.AuthenticatedUser;
+import com.support.security.CurrentUserProvider;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.http.HttpStatus;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.security.crypto.password.PasswordEncoder;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-
-import java.util.Collections;
+import org.springframework.web.server.ResponseStatusException;
 
 @Service
 @RequiredArgsConstructor
 public class UserService implements UserDetailsService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final CurrentUserProvider currentUserProvider;
 
     @Override
     @Transactional(readOnly = true)
@@ -28,10 +29,12 @@ public class UserService implements UserDetailsService {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
 
-        return new org.springframework.security.core.userdetails.User(
+        return new AuthenticatedUser(
+                user.getId(),
                 user.getUsername(),
                 user.getPassword(),
-                Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()))
+                user.getFullName(),
+                user.getRole()
         );
     }
 
@@ -47,34 +50,30 @@ public class UserService implements UserDetailsService {
         }
     }
 
-    @Transactional(readOnly = true)
     public UserDTO getCurrentUser() {
-        String username = SecurityContextHolder.getContext().getAuthentication().getName();
-        User user = userRepository.findByUsername(username)
-                .orElseThrow(() -> new EntityNotFoundException("User not found"));
-        
-        UserDTO dto = new UserDTO();
-        dto.setId(user.getId());
-        dto.setUsername(user.getUsername());
-        dto.setFullName(user.getFullName());
-        dto.setRole(user.getRole());
-        return dto;
+        return currentUserProvider.get().toUserDTO();
     }
 
+    /**
+     * The stored row behind the current principal, for decisions that must not trust a token's
+     * claims (token refresh). 401 when the account no longer exists.
+     */
     @Transactional(readOnly = true)
-    public UserDTO authenticateUser(String username, String password) {
+    public User reloadCurrentUser() {
+        AuthenticatedUser current = currentUserProvider.get();
+        return userRepository.findById(current.getId())
+                .filter(user -> user.getUsername().equals(current.getUsername()))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User no longer exists"));
+    }
+
+    @Transactional(readOnly = true)
+    public User authenticateUser(String username, String password) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new EntityNotFoundException("Invalid credentials"));
 
         if (!passwordEncoder.matches(password, user.getPassword())) {
             throw new EntityNotFoundException("Invalid credentials");
         }
-
-        UserDTO dto = new UserDTO();
-        dto.setId(user.getId());
-        dto.setUsername(user.getUsername());
-        dto.setFullName(user.getFullName());
-        dto.setRole(user.getRole());
-        return dto;
+        return user;
     }
-} 
\ No newline at end of file
+}
@@ -0,0 +1,41 @@
+package com.support.stats;
+
+import com.support.dto.CacheRegionStatsDTO;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Hit and miss counts of the Hibernate second-level cache regions, read from Hibernate's
+ * statistics (enabled with hibernate.generate_statistics).
+ */
+@Component
+public class CacheStatistics {
+    private final Statistics statistics;
+
+    public CacheStatistics(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public List<CacheRegionStatsDTO> snapshot() {
+        String[] regions = statistics.getSecondLevelCacheRegionNames();
+        Arrays.sort(regions);
+
+        List<CacheRegionStatsDTO> result = new ArrayList<>(regions.length);
+        for (String region : regions) {
+            CacheRegionStatistics regionStats = statistics.getDomainDataRegionStatistics(region);
+            long hits = regionStats.getHitCount();
+            long misses = regionStats.getMissCount();
+            long lookups = hits + misses;
+            result.add(new CacheRegionStatsDTO(region, hits, misses, regionStats.getPutCount(),
+                    lookups == 0 ? 0 : (double) hits / lookups));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,122 @@
+package com.support.stats;
+
+import com.support.dto.TicketCount;
+import com.support.dto.TicketDTO;
+import com.support.dto.TicketStatsDTO;
+import com.support.entity.Ticket;
+import com.support.event.TicketChangedEvent;
+import com.support.repository.ArchivedTicketRepository;
+import com.support.repository.TicketRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Ticket counts per (status, priority, category), kept in memory so dashboards never
+ * count rows. Counters move when a ticket change commits and are reconciled against
+ * a GROUP BY query periodically to repair any drift. Archived tickets are counted too,
+ * so archiving moves rows without changing any counter.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TicketStatistics {
+    private static final Ticket.Status[] STATUSES = Ticket.Status.values();
+    private static final Ticket.Priority[] PRIORITIES = Ticket.Priority.values();
+    private static final Ticket.Category[] CATEGORIES = Ticket.Category.values();
+
+    private final TicketRepository ticketRepository;
+    private final ArchivedTicketRepository archivedTicketRepository;
+    // One adder per enum combination; the array size is fixed, so reading is constant time
+    private final LongAdder[] cells = newCells();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${support.stats.reconcile-interval}",
+               fixedDelayString = "${support.stats.reconcile-interval}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        long[] actual = new long[cells.length];
+        for (TicketCount count : ticketRepository.countByStatusPriorityCategory()) {
+            actual[index(count.getStatus(), count.getPriority(), count.getCategory())] += count.getCount();
+        }
+        for (TicketCount count : archivedTicketRepository.countByStatusPriorityCategory()) {
+            actual[index(count.getStatus(), count.getPriority(), count.getCategory())] += count.getCount();
+        }
+
+        // Changes or archive moves committing between the queries can be off until the next pass
+        long drift = 0;
+        for (int i = 0; i < cells.length; i++) {
+            long delta = actual[i] - cells[i].sum();
+            if (delta != 0) {
+                cells[i].add(delta);
+                drift += Math.abs(delta);
+            }
+        }
+        if (drift != 0) {
+            log.info("Reconciled ticket statistics, corrected a drift of {}", drift);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTicketChanged(TicketChangedEvent event) {
+        TicketDTO ticket = event.getTicket();
+        if (event.getType() == TicketChangedEvent.Type.CREATED) {
+            cell(ticket.getStatus(), ticket).increment();
+        } else if (event.getType() == TicketChangedEvent.Type.STATUS_CHANGED
+                && event.getPreviousStatus() != ticket.getStatus()) {
+            cell(event.getPreviousStatus(), ticket).decrement();
+            cell(ticket.getStatus(), ticket).increment();
+        }
+    }
+
+    public TicketStatsDTO snapshot() {
+        Map<Ticket.Status, Long> byStatus = new EnumMap<>(Ticket.Status.class);
+        Map<Ticket.Priority, Long> byPriority = new EnumMap<>(Ticket.Priority.class);
+        Map<Ticket.Category, Long> byCategory = new EnumMap<>(Ticket.Category.class);
+        long total = 0;
+
+        for (Ticket.Status status : STATUSES) {
+            for (Ticket.Priority priority : PRIORITIES) {
+                for (Ticket.Category category : CATEGORIES) {
+                    long count = cells[index(status, priority, category)].sum();
+                    byStatus.merge(status, count, Long::sum);
+                    byPriority.merge(priority, count, Long::sum);
+                    byCategory.merge(category, count, Long::sum);
+                    total += count;
+                }
+            }
+        }
+
+        TicketStatsDTO stats = new TicketStatsDTO();
+        stats.setTotal(total);
+        stats.setByStatus(byStatus);
+        stats.setByPriority(byPriority);
+        stats.setByCategory(byCategory);
+        return stats;
+    }
+
+    private LongAdder cell(Ticket.Status status, TicketDTO ticket) {
+        return cells[index(status, ticket.getPriority(), ticket.getCategory())];
+    }
+
+    private static int index(Ticket.Status status, Ticket.Priority priority, Ticket.Category category) {
+        return (status.ordinal() * PRIORITIES.length + priority.ordinal()) * CATEGORIES.length + category.ordinal();
+    }
+
+    private static LongAdder[] newCells() {
+        LongAdder[] cells = new LongAdder[STATUSES.length * PRIORITIES.length * CATEGORIES.length];
+        for (int i = 0; i < cells.length; i++) {
+            cells[i] = new LongAdder();
+        }
+        return cells;
+    }
+}
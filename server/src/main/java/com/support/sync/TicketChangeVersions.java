@@ -0,0 +1,82 @@
+package com.support.sync;
+
+import com.support.entity.TicketChangeCounter;
+import com.support.repository.ArchivedTicketRepository;
+import com.support.repository.TicketChangeCounterRepository;
+import com.support.repository.TicketRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Hands out the change versions stamped on tickets and tells delta-sync readers how far they can
+ * safely read.
+ * <p>
+ * Versions come from one counter row in the database, so every server draws from the same
+ * sequence. Versions are allocated while a transaction runs but become visible when it commits;
+ * a reader that moved its high-water mark past a version still in flight would never see that
+ * row. Allocating locks the counter row until the transaction ends, which makes the next
+ * allocation wait for it: versions commit in allocation order, and the committed counter value
+ * ({@link #stable()}) never runs ahead of a change that can still commit.
+ * <p>
+ * The price is that version-stamping transactions are serialized from the allocation to their
+ * end. Callers therefore allocate after taking their last row lock, which also keeps a ticket
+ * lock and the counter from ever being waited for in opposite orders.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TicketChangeVersions {
+    private final TicketChangeCounterRepository counterRepository;
+    private final TicketRepository ticketRepository;
+    private final ArchivedTicketRepository archivedTicketRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    /** Creates the counter on first start, continuing from the highest version already stored. */
+    @PostConstruct
+    public void createCounter() {
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                if (counterRepository.existsById(TicketChangeCounter.ID)) {
+                    return;
+                }
+                TicketChangeCounter counter = new TicketChangeCounter();
+                counter.setId(TicketChangeCounter.ID);
+                counter.setLastVersion(Math.max(ticketRepository.findMaxChangeVersion(),
+                        archivedTicketRepository.findMaxChangeVersion()));
+                counterRepository.saveAndFlush(counter);
+            });
+        } catch (DataIntegrityViolationException e) {
+            log.debug("Ticket change counter was created by another server", e);
+        }
+    }
+
+    /**
+     * Allocates the next version. Must be called inside the transaction that stores it, after
+     * that transaction's last row lock; later writers wait until it completes.
+     */
+    public long next() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("Change versions must be allocated inside a transaction");
+        }
+        counterRepository.increment(TicketChangeCounter.ID);
+        return lastVersion();
+    }
+
+    /**
+     * Highest version at or below which every change has completed; rows up to it can be read
+     * without missing one that commits later.
+     */
+    public long stable() {
+        return lastVersion();
+    }
+
+    private long lastVersion() {
+        return counterRepository.findLastVersion(TicketChangeCounter.ID)
+                .orElseThrow(() -> new IllegalStateException("Ticket change counter is missing"));
+    }
+}
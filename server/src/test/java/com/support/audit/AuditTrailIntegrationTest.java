@@ -0,0 +1,152 @@
+package com.support.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.support.entity.Ticket;
+import com.support.entity.User;
+import com.support.repository.AuditLogRepository;
+import com.support.repository.TicketRepository;
+import com.support.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the audit trail against the database with real commits, so the producer's own insert on
+ * a full queue is checked to survive its transaction's completion.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class AuditTrailIntegrationTest {
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path journalDir;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private TransactionTemplate business;
+    private Long userId;
+    private Long ticketId;
+
+    @BeforeEach
+    void setUp() {
+        business = new TransactionTemplate(transactionManager);
+        business.executeWithoutResult(status -> {
+            User alice = new User();
+            alice.setUsername("alice");
+            alice.setPassword("encodedPassword");
+            alice.setFullName("alice");
+            alice.setRole(User.Role.EMPLOYEE);
+            alice = userRepository.save(alice);
+
+            Ticket ticket = new Ticket();
+            ticket.setTitle("VPN down");
+            ticket.setDescription("Cannot connect");
+            ticket.setPriority(Ticket.Priority.MEDIUM);
+            ticket.setCategory(Ticket.Category.NETWORK);
+            ticket.setStatus(Ticket.Status.NEW);
+            ticket.setCreationDate(LocalDateTime.now());
+            ticket.setCreatedBy(alice);
+            ticket = ticketRepository.save(ticket);
+
+            userId = alice.getId();
+            ticketId = ticket.getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        business.executeWithoutResult(status -> {
+            auditLogRepository.deleteAllInBatch();
+            ticketRepository.deleteAllInBatch();
+            userRepository.deleteAllInBatch();
+        });
+    }
+
+    @Test
+    void record_ProducerWritesItsOwnEventsWhenTheQueueIsFull() throws Exception {
+        // Arrange: a queue of one, and a writer held up in its first insert
+        CountDownLatch writerBusy = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AuditTrail auditTrail = new AuditTrail(auditLogRepository, ticketRepository, userRepository,
+                new HoldingWriter(transactionManager, writerBusy, release),
+                objectMapper, journalDir, 1, 500, Duration.ZERO);
+        auditTrail.start();
+
+        try {
+            recordStatusChange(auditTrail);
+            assertTrue(writerBusy.await(2, TimeUnit.SECONDS));
+            recordStatusChange(auditTrail);
+
+            // Act: the queue is full, so this commit's completion callback inserts the row itself
+            recordStatusChange(auditTrail);
+
+            // Assert
+            assertEquals(1, auditLogRepository.count());
+        } finally {
+            release.countDown();
+            auditTrail.stop();
+        }
+        assertEquals(3, auditLogRepository.count());
+    }
+
+    private void recordStatusChange(AuditTrail auditTrail) {
+        business.executeWithoutResult(status ->
+                auditTrail.record(ticketId, userId, "STATUS_CHANGED", "NEW", "IN_PROGRESS"));
+    }
+
+    /** Delegates to the real transaction manager, but blocks the audit writer thread until released. */
+    private record HoldingWriter(PlatformTransactionManager delegate, CountDownLatch writerBusy,
+                                 CountDownLatch release) implements PlatformTransactionManager {
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            if ("audit-writer".equals(Thread.currentThread().getName())) {
+                writerBusy.countDown();
+                try {
+                    release.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return delegate.getTransaction(definition);
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+            delegate.commit(status);
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+            delegate.rollback(status);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.support.repository;
+
+import com.support.dto.CommentDTO;
+import com.support.dto.KeysetCursor;
+import com.support.dto.TicketDTO;
+import com.support.entity.AuditLog;
+import com.support.entity.Comment;
+import com.support.entity.Ticket;
+import com.support.entity.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class ArchivedTicketRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    @Autowired
+    private ArchivedTicketRepository archivedTicketRepository;
+
+    @Autowired
+    private ArchivedCommentRepository archivedCommentRepository;
+
+    private User alice;
+    private Ticket resolved;
+    private Ticket open;
+
+    @BeforeEach
+    void setUp() {
+        alice = new User();
+        alice.setUsername("alice");
+        alice.setPassword("encodedPassword");
+        alice.setFullName("alice");
+        alice.setRole(User.Role.EMPLOYEE);
+        alice = entityManager.persist(alice);
+
+        LocalDateTime old = LocalDateTime.now().minusDays(120);
+        resolved = persistTicket("Old resolved", Ticket.Status.RESOLVED, old);
+        // Commented on yesterday
+        resolved.setCommentCount(1);
+        resolved.setLastActivityAt(LocalDateTime.now().minusDays(1));
+        open = persistTicket("Old open", Ticket.Status.IN_PROGRESS, old.minusDays(1));
+
+        Comment comment = new Comment();
+        comment.setContent("Fixed");
+        comment.setTicket(resolved);
+        comment.setUser(alice);
+        entityManager.persist(comment);
+
+        AuditLog auditLog = new AuditLog();
+        auditLog.setTicket(resolved);
+        auditLog.setUser(alice);
+        auditLog.setAction("STATUS_CHANGED");
+        auditLog.setOldValue("NEW");
+        auditLog.setNewValue("RESOLVED");
+        auditLog.setTimestamp(old);
+        entityManager.persist(auditLog);
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void findArchiveCandidates_OnlyQuietTicketsInStatus() {
+        // Act
+        List<KeysetCursor> candidates = ticketRepository.findFirstArchiveCandidates(
+                Ticket.Status.RESOLVED, LocalDateTime.now().plusMinutes(1), PageRequest.of(0, 10));
+        List<KeysetCursor> quietBeforeComment = ticketRepository.findFirstArchiveCandidates(
+                Ticket.Status.RESOLVED, LocalDateTime.now().minusDays(30), PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(List.of(resolved.getId()), candidates.stream().map(KeysetCursor::getId).toList());
+        // The comment was written yesterday, so the ticket is not quiet since the 30-day cutoff
+        assertTrue(quietBeforeComment.isEmpty());
+    }
+
+    @Test
+    void moveStatements_CopyTicketWithChildrenAndDeleteFromHotTables() {
+        // Arrange
+        List<Long> ids = ticketRepository.lockByIdInAndStatus(List.of(resolved.getId(), open.getId()),
+                Ticket.Status.RESOLVED).stream().map(Ticket::getId).toList();
+
+        // Act
+        archivedTicketRepository.copyTickets(ids, LocalDateTime.now());
+        archivedTicketRepository.copyComments(ids);
+        archivedTicketRepository.copyAuditLogs(ids);
+        archivedTicketRepository.deleteHotAuditLogs(ids);
+        archivedTicketRepository.deleteHotComments(ids);
+        int deleted = archivedTicketRepository.deleteHotTickets(ids);
+        entityManager.clear();
+
+        // Assert
+        assertEquals(1, deleted);
+        assertTrue(ticketRepository.findById(resolved.getId()).isEmpty());
+        assertTrue(ticketRepository.findById(open.getId()).isPresent());
+
+        List<TicketDTO> archived = archivedTicketRepository.findPage(
+                TicketSpecifications.createdBy(alice.getId()), null, 10);
+        assertEquals(1, archived.size());
+        assertEquals(resolved.getId(), archived.get(0).getId());
+        assertEquals("alice", archived.get(0).getCreatedByUsername());
+        assertEquals(1, archived.get(0).getCommentCount());
+
+        List<CommentDTO> comments = archivedCommentRepository.findFirstPageByTicketId(resolved.getId(), PageRequest.of(0, 10));
+        assertEquals(1, comments.size());
+        assertEquals("alice", comments.get(0).getUsername());
+        assertEquals(1, archivedCommentRepository.countByTicketId(resolved.getId()));
+    }
+
+    private Ticket persistTicket(String title, Ticket.Status status, LocalDateTime creationDate) {
+        Ticket ticket = new Ticket();
+        ticket.setTitle(title);
+        ticket.setDescription("Description of " + title);
+        ticket.setPriority(Ticket.Priority.MEDIUM);
+        ticket.setCategory(Ticket.Category.SOFTWARE);
+        ticket.setStatus(status);
+        ticket.setCreationDate(creationDate);
+        ticket.setCreatedBy(alice);
+        return entityManager.persist(ticket);
+    }
+}
@@ -0,0 +1,44 @@
+package com.support.repository;
+
+import com.support.entity.TicketChangeCounter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class TicketChangeCounterRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TicketChangeCounterRepository counterRepository;
+
+    @BeforeEach
+    void setUp() {
+        TicketChangeCounter counter = new TicketChangeCounter();
+        counter.setId(TicketChangeCounter.ID);
+        counter.setLastVersion(41L);
+        entityManager.persistAndFlush(counter);
+        entityManager.clear();
+    }
+
+    @Test
+    void increment_AdvancesTheStoredValue() {
+        // Act
+        int updated = counterRepository.increment(TicketChangeCounter.ID);
+
+        // Assert
+        assertEquals(1, updated);
+        assertEquals(42L, counterRepository.findLastVersion(TicketChangeCounter.ID).orElseThrow());
+    }
+
+    @Test
+    void findLastVersion_EmptyWithoutCounter() {
+        assertTrue(counterRepository.findLastVersion(2L).isEmpty());
+    }
+}
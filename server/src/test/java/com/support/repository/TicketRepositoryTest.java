@@ -0,0 +1,212 @@
+package com.support.repository;
+
+import com.support.dto.KeysetCursor;
+import com.support.dto.TicketDTO;
+import com.support.entity.Ticket;
+import com.support.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TicketRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TicketRepository ticketRepository;
+
+    private Statistics statistics;
+    private User alice;
+
+    @BeforeEach
+    void setUp() {
+        alice = persistUser("alice");
+        User bob = persistUser("bob");
+        User carol = persistUser("carol");
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 6; i++) {
+            User creator = i % 3 == 0 ? alice : (i % 3 == 1 ? bob : carol);
+            // Pairs of tickets share a change version, like rows of one bulk update
+            persistTicket("Ticket " + i, creator, Ticket.Status.NEW, now.minusMinutes(i), i / 2 + 1);
+        }
+
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findFirstPage_LoadsCreatorsInSingleStatement() {
+        // Act
+        List<TicketDTO> page = ticketRepository.findFirstPage(PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(6, page.size());
+        assertTrue(page.stream().allMatch(t -> t.getCreatedByUsername() != null));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findPageAfter_ContinuesFromCursorInSingleStatement() {
+        // Arrange
+        List<TicketDTO> first = ticketRepository.findFirstPage(PageRequest.of(0, 2));
+        TicketDTO last = first.get(first.size() - 1);
+        statistics.clear();
+
+        // Act
+        List<TicketDTO> next = ticketRepository.findPageAfter(last.getCreationDate(), last.getId(), PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(4, next.size());
+        assertTrue(next.stream().allMatch(t -> t.getCreationDate().isBefore(last.getCreationDate())));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findFirstPageByCreatedBy_LoadsInSingleStatement() {
+        // Act
+        List<TicketDTO> page = ticketRepository.findFirstPageByCreatedBy(alice.getId(), PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(2, page.size());
+        assertTrue(page.stream().allMatch(t -> "alice".equals(t.getCreatedByUsername())));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findFirstPageByStatus_LoadsInSingleStatement() {
+        // Act
+        List<TicketDTO> page = ticketRepository.findFirstPageByStatus(Ticket.Status.NEW, PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(6, page.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findPage_CombinesSpecificationsWithKeysetInSingleStatement() {
+        // Arrange
+        Specification<Ticket> spec = TicketSpecifications.<Ticket>createdBy(alice.getId())
+                .and(TicketSpecifications.hasStatus(Ticket.Status.NEW))
+                .and(TicketSpecifications.hasCategory(Ticket.Category.SOFTWARE));
+        List<TicketDTO> first = ticketRepository.findPage(spec, null, 1);
+        TicketDTO last = first.get(0);
+        statistics.clear();
+
+        // Act
+        List<TicketDTO> next = ticketRepository.findPage(spec,
+                new KeysetCursor(last.getCreationDate(), last.getId()), 10);
+
+        // Assert
+        assertEquals(1, next.size());
+        assertEquals("alice", next.get(0).getCreatedByUsername());
+        assertTrue(next.get(0).getCreationDate().isBefore(last.getCreationDate()));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void findChangedPageAfter_ResumesInsideSharedVersionUpToHighWaterMark() {
+        // Arrange
+        List<TicketDTO> first = ticketRepository.findFirstChangedPage(0, 3, PageRequest.of(0, 3));
+        TicketDTO last = first.get(first.size() - 1);
+        List<TicketDTO> bounded = ticketRepository.findFirstChangedPage(1, 2, PageRequest.of(0, 10));
+        statistics.clear();
+
+        // Act
+        List<TicketDTO> next = ticketRepository.findChangedPageAfter(last.getChangeVersion(), last.getId(), 3,
+                PageRequest.of(0, 10));
+
+        // Assert
+        assertEquals(List.of(1L, 1L, 2L), first.stream().map(TicketDTO::getChangeVersion).toList());
+        assertEquals(List.of(2L, 3L, 3L), next.stream().map(TicketDTO::getChangeVersion).toList());
+        assertTrue(next.stream().noneMatch(t -> t.getId().equals(last.getId())));
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(2, bounded.size());
+        assertTrue(bounded.stream().allMatch(t -> t.getChangeVersion() == 2));
+    }
+
+    @Test
+    void updateStatusByIdIn_BumpsVersionSoStaleWriteFails() {
+        // Arrange
+        Long id = ticketRepository.findFirstPage(PageRequest.of(0, 1)).get(0).getId();
+        Ticket stale = ticketRepository.findById(id).orElseThrow();
+        entityManager.detach(stale);
+
+        // Act
+        ticketRepository.updateStatusByIdIn(List.of(id), Ticket.Status.RESOLVED, LocalDateTime.now(), 10);
+        entityManager.clear();
+        stale.setStatus(Ticket.Status.IN_PROGRESS);
+
+        // Assert
+        assertEquals(1, ticketRepository.findById(id).orElseThrow().getVersion());
+        assertThrows(OptimisticLockingFailureException.class, () -> ticketRepository.saveAndFlush(stale));
+    }
+
+    @Test
+    void commentCounters_DoNotBumpVersion() {
+        // Arrange
+        Long id = ticketRepository.findFirstPage(PageRequest.of(0, 1)).get(0).getId();
+        Ticket ticket = ticketRepository.findById(id).orElseThrow();
+
+        // Act
+        ticket.setCommentCount(ticket.getCommentCount() + 1);
+        ticket.setLastActivityAt(LocalDateTime.now());
+        ticket.setChangeVersion(10);
+        entityManager.flush();
+        entityManager.clear();
+
+        // Assert
+        Ticket reloaded = ticketRepository.findById(id).orElseThrow();
+        assertEquals(1, reloaded.getCommentCount());
+        assertEquals(0, reloaded.getVersion());
+    }
+
+    private User persistUser(String username) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword("encodedPassword");
+        user.setFullName(username);
+        user.setRole(User.Role.EMPLOYEE);
+        return entityManager.persist(user);
+    }
+
+    private void persistTicket(String title, User creator, Ticket.Status status, LocalDateTime creationDate,
+                               long changeVersion) {
+        Ticket ticket = new Ticket();
+        ticket.setTitle(title);
+        ticket.setDescription("Description of " + title);
+        ticket.setPriority(Ticket.Priority.MEDIUM);
+        ticket.setCategory(Ticket.Category.SOFTWARE);
+        ticket.setStatus(status);
+        ticket.setCreationDate(creationDate);
+        ticket.setCreatedBy(creator);
+        ticket.setChangeVersion(changeVersion);
+        entityManager.persist(ticket);
+    }
+}
@@ -0,0 +1,63 @@
+package com.support.repository;
+
+import com.support.entity.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+class UserRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void setUp() {
+        User bob = new User();
+        bob.setUsername("bob");
+        bob.setPassword("encodedPassword");
+        bob.setFullName("Bob");
+        bob.setRole(User.Role.IT_SUPPORT);
+        entityManager.persistAndFlush(bob);
+        entityManager.clear();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void findByUsername_SecondLookupIsServedFromCache() {
+        assertTrue(userRepository.findByUsername("bob").isPresent());
+        entityManager.clear();
+        long statementsAfterFirst = statistics.getPrepareStatementCount();
+
+        Optional<User> cached = userRepository.findByUsername("bob");
+
+        assertTrue(cached.isPresent());
+        assertEquals("Bob", cached.get().getFullName());
+        assertEquals(statementsAfterFirst, statistics.getPrepareStatementCount());
+        assertTrue(statistics.getNaturalIdCacheHitCount() > 0);
+    }
+
+    @Test
+    void findByUsername_UnknownUserIsEmpty() {
+        assertTrue(userRepository.findByUsername("nobody").isEmpty());
+    }
+}
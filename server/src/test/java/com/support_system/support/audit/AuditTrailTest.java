@@ -0,0 +1,167 @@
+package com.support_system.support.audit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.support.audit.AuditEvent;
+import com.support.audit.AuditTrail;
+import com.support.entity.AuditLog;
+import com.support.repository.AuditLogRepository;
+import com.support.repository.TicketRepository;
+import com.support.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditTrailTest {
+
+    @Mock
+    private AuditLogRepository auditLogRepository;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @TempDir
+    Path journalDir;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private AuditTrail auditTrail;
+
+    @BeforeEach
+    void setUp() {
+        auditTrail = new AuditTrail(auditLogRepository, ticketRepository, userRepository, transactionManager,
+                objectMapper, journalDir, 100, 50, Duration.ofSeconds(1));
+    }
+
+    @Test
+    void start_ReplaysOnlyUnwrittenCommittedEvents() throws Exception {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        Files.writeString(journalDir.resolve("audit.journal"),
+                "E " + objectMapper.writeValueAsString(new AuditEvent(1, 10L, 1L, "TICKET_CREATED", "NONE", "NEW", now)) + "\n" +
+                "E " + objectMapper.writeValueAsString(new AuditEvent(2, 11L, 1L, "TICKET_CREATED", "NONE", "NEW", now)) + "\n" +
+                "E " + objectMapper.writeValueAsString(new AuditEvent(3, 12L, 1L, "TICKET_CREATED", "NONE", "NEW", now)) + "\n" +
+                "C 1\n" +
+                "A 3\n" +
+                "E {\"sequence\":4,\"tick");
+
+        // Act
+        auditTrail.start();
+        auditTrail.stop();
+
+        // Assert
+        verify(auditLogRepository).saveAll(argThat((List<AuditLog> logs) -> logs.size() == 1));
+        verify(ticketRepository).getReferenceById(11L);
+        verify(ticketRepository, never()).getReferenceById(10L);
+        verify(ticketRepository, never()).getReferenceById(12L);
+        assertEquals(0, Files.size(journalDir.resolve("audit.journal")));
+    }
+
+    @Test
+    void record_WritesBehindAndFlushesOnStop() throws Exception {
+        // Arrange
+        auditTrail.start();
+
+        // Act
+        auditTrail.record(10L, 1L, "STATUS_CHANGED", "NEW", "RESOLVED");
+        auditTrail.stop();
+
+        // Assert
+        verify(auditLogRepository).saveAll(argThat((List<AuditLog> logs) -> logs.size() == 1
+                && "STATUS_CHANGED".equals(logs.get(0).getAction())
+                && "RESOLVED".equals(logs.get(0).getNewValue())));
+        assertEquals(0, Files.size(journalDir.resolve("audit.journal")));
+        assertFalse(auditTrail.isRunning());
+        verify(transactionManager).getTransaction(argThat((TransactionDefinition definition) ->
+                definition.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+    }
+
+    @Test
+    void record_JournalsATransactionsEventsInOneAppend() throws Exception {
+        // Arrange
+        auditTrail.start();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        try {
+            auditTrail.record(10L, 1L, "STATUS_CHANGED", "NEW", "IN_PROGRESS");
+            auditTrail.record(11L, 1L, "STATUS_CHANGED", "NEW", "IN_PROGRESS");
+            assertEquals(1, TransactionSynchronizationManager.getSynchronizations().size());
+            TransactionSynchronizationUtils.triggerBeforeCommit(false);
+            assertEquals(2, Files.readAllLines(journalDir.resolve("audit.journal")).size());
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        auditTrail.stop();
+
+        // Assert
+        verify(auditLogRepository).saveAll(argThat((List<AuditLog> logs) -> logs.size() == 2));
+    }
+
+    @Test
+    void record_KeepsEventsJournaledWhenTheOutcomeIsUnknown() throws Exception {
+        // Arrange
+        auditTrail.start();
+        TransactionSynchronizationManager.initSynchronization();
+
+        // Act
+        try {
+            auditTrail.record(10L, 1L, "STATUS_CHANGED", "NEW", "IN_PROGRESS");
+            TransactionSynchronizationUtils.triggerBeforeCommit(false);
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(), TransactionSynchronization.STATUS_UNKNOWN);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        auditTrail.stop();
+
+        // Assert
+        verify(auditLogRepository, never()).saveAll(any());
+        List<String> lines = Files.readAllLines(journalDir.resolve("audit.journal"));
+        assertEquals(1, lines.size());
+        assertTrue(lines.get(0).startsWith("E "));
+    }
+
+    @Test
+    void start_CutsATornLineSoLaterAppendsStayReadable() throws Exception {
+        // Arrange
+        Path file = journalDir.resolve("audit.journal");
+        String pending = "E " + objectMapper.writeValueAsString(
+                new AuditEvent(1, 10L, 1L, "TICKET_CREATED", "NONE", "NEW", LocalDateTime.now())) + "\n";
+        Files.writeString(file, pending + "E {\"sequence\":2,\"tick");
+        when(auditLogRepository.saveAll(any())).thenThrow(new IllegalStateException("database down"));
+
+        // Act
+        auditTrail.start();
+        auditTrail.stop();
+
+        // Assert
+        assertEquals(pending, Files.readString(file));
+    }
+}
@@ -0,0 +1,131 @@
+package com.support_system.support.cache;
+
+import com.support.cache.TicketDataVersion;
+import com.support.cache.TicketETags;
+import com.support.entity.User;
+import com.support.search.TicketSearchIndex;
+import com.support.security.AuthenticatedUser;
+import com.support.security.CurrentUserProvider;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketETagsTest {
+
+    @Mock
+    private CurrentUserProvider currentUserProvider;
+
+    @Mock
+    private TicketDataVersion dataVersion;
+
+    @Mock
+    private TicketSearchIndex searchIndex;
+
+    private TicketETags etags;
+
+    @BeforeEach
+    void setUp() {
+        etags = new TicketETags(dataVersion, currentUserProvider, searchIndex, Duration.ofMinutes(10));
+    }
+
+    private static AuthenticatedUser user(long id, User.Role role) {
+        return new AuthenticatedUser(id, "user" + id, "", "User", role);
+    }
+
+    @Test
+    void forCurrentUser_AgentsShareOneTag() {
+        // Arrange
+        when(currentUserProvider.get()).thenReturn(user(1L, User.Role.IT_SUPPORT), user(2L, User.Role.IT_SUPPORT));
+
+        // Act
+        String first = etags.forCurrentUser();
+        String second = etags.forCurrentUser();
+
+        // Assert
+        assertEquals(first, second);
+        assertTrue(first.startsWith("\"") && first.endsWith("\""));
+    }
+
+    @Test
+    void forCurrentUser_EmployeesGetTheirOwnTag() {
+        // Arrange
+        when(currentUserProvider.get()).thenReturn(user(1L, User.Role.EMPLOYEE), user(2L, User.Role.EMPLOYEE));
+
+        // Act
+        String first = etags.forCurrentUser();
+        String second = etags.forCurrentUser();
+
+        // Assert
+        assertNotEquals(first, second);
+    }
+
+    @Test
+    void shared_ChangesWhenTicketDataChanges() {
+        // Arrange
+        when(dataVersion.current()).thenReturn(4L, 5L);
+        String before = etags.shared();
+
+        // Act
+        String after = etags.shared();
+
+        // Assert
+        assertNotEquals(before, after);
+        verifyNoInteractions(currentUserProvider);
+    }
+
+    @Test
+    void shared_ExpiresAfterTheTtl() throws InterruptedException {
+        // Arrange
+        TicketETags shortLived = new TicketETags(dataVersion, currentUserProvider, searchIndex, Duration.ofMillis(20));
+        String before = shortLived.shared();
+
+        // Act
+        Thread.sleep(50);
+
+        // Assert
+        assertNotEquals(before, shortLived.shared());
+    }
+
+    @Test
+    void shared_SameOnEveryServer() {
+        // Arrange
+        when(dataVersion.current()).thenReturn(4L);
+        TicketETags otherServer = new TicketETags(dataVersion, currentUserProvider, searchIndex, Duration.ofMinutes(10));
+
+        // Act & Assert
+        assertEquals(etags.shared(), otherServer.shared());
+    }
+
+    @Test
+    void forKeywordSearch_ChangesWhenTheSearchIndexCatchesUp() {
+        // Arrange: the version has already moved, but the index listener has not run yet
+        when(dataVersion.current()).thenReturn(5L);
+        when(searchIndex.generation()).thenReturn("a1.7", "a1.8");
+        String before = etags.forKeywordSearch();
+
+        // Act
+        String after = etags.forKeywordSearch();
+
+        // Assert
+        assertNotEquals(before, after);
+        assertNotEquals(etags.shared(), after);
+        verifyNoInteractions(currentUserProvider);
+    }
+
+    @Test
+    void gzip_TagsTheEncodedRepresentationSeparately() {
+        // Act
+        String tag = TicketETags.gzip("\"1-2-all\"");
+
+        // Assert
+        assertEquals("\"1-2-all-gzip\"", tag);
+    }
+}
@@ -0,0 +1,124 @@
+package com.support_system.support.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.support.cache.TicketDataVersion;
+import com.support.cache.TicketListResponseCache;
+import com.support.cache.TicketListResponseCache.CachedResponse;
+import com.support.dto.CursorPage;
+import com.support.dto.TicketDTO;
+import com.support.entity.User;
+import com.support.security.AuthenticatedUser;
+import com.support.security.CurrentUserProvider;
+import com.support.service.TicketReadCoalescer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketListResponseCacheTest {
+
+    @Mock
+    private TicketReadCoalescer ticketReads;
+
+    @Mock
+    private CurrentUserProvider currentUserProvider;
+
+    @Mock
+    private TicketDataVersion dataVersion;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    private TicketListResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new TicketListResponseCache(ticketReads, currentUserProvider, dataVersion, objectMapper,
+                100, Duration.ofMinutes(10));
+    }
+
+    private static CursorPage<TicketDTO> page(long id) {
+        TicketDTO dto = new TicketDTO();
+        dto.setId(id);
+        dto.setTitle("Ticket " + id);
+        return new CursorPage<>(List.of(dto), null);
+    }
+
+    private static AuthenticatedUser agent(long id) {
+        return new AuthenticatedUser(id, "agent" + id, "", "Agent", User.Role.IT_SUPPORT);
+    }
+
+    @Test
+    void getTicketsForCurrentUser_AgentsShareOneRendering() {
+        // Arrange
+        when(currentUserProvider.get()).thenReturn(agent(1L), agent(2L));
+        when(ticketReads.getTicketsForCurrentUser(null, 50, false)).thenReturn(page(7L));
+
+        // Act
+        CachedResponse first = cache.getTicketsForCurrentUser(null, 50, false);
+        CachedResponse second = cache.getTicketsForCurrentUser(null, 50, false);
+
+        // Assert
+        assertSame(first, second);
+        verify(ticketReads, times(1)).getTicketsForCurrentUser(null, 50, false);
+    }
+
+    @Test
+    void getTicketsForCurrentUser_VersionChangeRendersAgain() throws IOException {
+        // Arrange
+        when(currentUserProvider.get()).thenReturn(agent(1L));
+        when(ticketReads.getTicketsForCurrentUser(null, 50, false)).thenReturn(page(7L), page(8L));
+        when(dataVersion.current()).thenReturn(4L, 5L);
+        cache.getTicketsForCurrentUser(null, 50, false);
+
+        // Act
+        CachedResponse refreshed = cache.getTicketsForCurrentUser(null, 50, false);
+
+        // Assert
+        assertEquals(8L, objectMapper.readTree(refreshed.json()).path("items").get(0).path("id").asLong());
+        verify(ticketReads, times(2)).getTicketsForCurrentUser(null, 50, false);
+    }
+
+    @Test
+    void getTicketsForCurrentUser_EmployeesGetTheirOwnEntries() {
+        // Arrange
+        when(currentUserProvider.get()).thenReturn(
+                new AuthenticatedUser(3L, "alice", "", "Alice", User.Role.EMPLOYEE),
+                new AuthenticatedUser(4L, "bob", "", "Bob", User.Role.EMPLOYEE));
+        when(ticketReads.getTicketsForCurrentUser(null, 50, false)).thenReturn(page(1L), page(2L));
+
+        // Act
+        CachedResponse alice = cache.getTicketsForCurrentUser(null, 50, false);
+        CachedResponse bob = cache.getTicketsForCurrentUser(null, 50, false);
+
+        // Assert
+        assertNotSame(alice, bob);
+        verify(ticketReads, times(2)).getTicketsForCurrentUser(null, 50, false);
+    }
+
+    @Test
+    void getTicketsForCurrentUser_GzipDecodesToJson() throws IOException {
+        // Arrange
+        when(currentUserProvider.get()).thenReturn(agent(1L));
+        when(ticketReads.getTicketsForCurrentUser(null, 50, false)).thenReturn(page(7L));
+
+        // Act
+        CachedResponse response = cache.getTicketsForCurrentUser(null, 50, false);
+
+        // Assert
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(response.gzip()))) {
+            assertArrayEquals(response.json(), in.readAllBytes());
+        }
+    }
+}
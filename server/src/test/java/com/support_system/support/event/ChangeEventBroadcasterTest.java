@@ -0,0 +1,243 @@
+package com.support_system.support.event;
+
+import com.support.dto.ChangeEventDTO;
+import com.support.entity.User;
+import com.support.event.ChangeEventBroadcaster;
+import com.support.event.CommentAddedEvent;
+import com.support.security.AuthenticatedUser;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeEventBroadcasterTest {
+    private static final int QUEUE_CAPACITY = 4;
+
+    private ChangeEventBroadcaster broadcaster;
+    // Sends to the next emitter block until this is counted down, when set
+    private CountDownLatch gate;
+
+    @BeforeEach
+    void setUp() {
+        broadcaster = newBroadcaster(1, Duration.ofSeconds(10));
+    }
+
+    private ChangeEventBroadcaster newBroadcaster(int senderThreads, Duration sendTimeout) {
+        return new ChangeEventBroadcaster(3, QUEUE_CAPACITY, Duration.ofMinutes(1), senderThreads, sendTimeout) {
+            @Override
+            protected SseEmitter createEmitter(Duration timeout) {
+                return new RecordingEmitter(gate);
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    private static AuthenticatedUser agent() {
+        return new AuthenticatedUser(1L, "agent", "", "Agent", User.Role.IT_SUPPORT);
+    }
+
+    private static AuthenticatedUser employee(String username) {
+        return new AuthenticatedUser(2L, username, "", "Employee", User.Role.EMPLOYEE);
+    }
+
+    private void commentAdded(long ticketId, String ticketCreatedBy) {
+        broadcaster.onCommentAdded(new CommentAddedEvent(ticketId, ticketId * 10, ticketCreatedBy, 1, LocalDateTime.now()));
+    }
+
+    private RecordingEmitter subscribe(AuthenticatedUser user, String lastEventId) {
+        return (RecordingEmitter) broadcaster.subscribe(user, lastEventId);
+    }
+
+    @Test
+    void subscribe_ReplaysChangesAfterLastEventId() throws Exception {
+        // Arrange
+        RecordingEmitter first = subscribe(agent(), null);
+        commentAdded(1L, "alice");
+        commentAdded(2L, "alice");
+        String firstId = first.next().id();
+
+        // Act
+        RecordingEmitter resumed = subscribe(agent(), firstId);
+
+        // Assert
+        Sent replayed = resumed.next();
+        assertEquals("COMMENT_ADDED", replayed.name());
+        assertEquals(2L, ((ChangeEventDTO) replayed.data()).getTicketId());
+        assertNull(resumed.poll());
+    }
+
+    @Test
+    void subscribe_SendsResetForUnknownOrEvictedIds() throws Exception {
+        // Arrange
+        RecordingEmitter first = subscribe(agent(), null);
+        for (long ticketId = 1; ticketId <= 5; ticketId++) {
+            commentAdded(ticketId, "alice");
+        }
+        // The replay ring only holds the last three changes
+        String evicted = first.next().id();
+
+        // Act
+        RecordingEmitter fromOtherProcess = subscribe(agent(), "12345-1");
+        RecordingEmitter tooFarBehind = subscribe(agent(), evicted);
+
+        // Assert
+        assertEquals("reset", fromOtherProcess.next().name());
+        assertEquals("reset", tooFarBehind.next().name());
+    }
+
+    @Test
+    void publish_EmployeesOnlySeeTheirOwnTickets() throws Exception {
+        // Arrange
+        RecordingEmitter emitter = subscribe(employee("bob"), null);
+
+        // Act
+        commentAdded(1L, "alice");
+        commentAdded(2L, "bob");
+
+        // Assert
+        assertEquals(2L, ((ChangeEventDTO) emitter.next().data()).getTicketId());
+        assertNull(emitter.poll());
+    }
+
+    @Test
+    void publish_ClosesAConnectionThatFallsTooFarBehind() throws Exception {
+        // Arrange
+        gate = new CountDownLatch(1);
+        RecordingEmitter emitter = subscribe(agent(), null);
+        commentAdded(1L, "alice");
+        assertTrue(emitter.sending.await(2, TimeUnit.SECONDS));
+
+        // Act: the sender is stuck on the first change while the queue fills and overflows
+        for (long ticketId = 2; ticketId <= QUEUE_CAPACITY + 2; ticketId++) {
+            commentAdded(ticketId, "alice");
+        }
+        gate.countDown();
+
+        // Assert
+        assertTrue(emitter.completed.await(2, TimeUnit.SECONDS));
+        List<Long> delivered = new ArrayList<>();
+        for (Sent sent = emitter.poll(); sent != null; sent = emitter.poll()) {
+            delivered.add(((ChangeEventDTO) sent.data()).getTicketId());
+        }
+        assertEquals(List.of(1L, 2L, 3L, 4L, 5L), delivered);
+        assertEquals(0, broadcaster.subscriberCount());
+    }
+
+    @Test
+    void watchdog_DropsAStalledConnectionWithoutWaitingOnItsSend() throws Exception {
+        // Arrange
+        broadcaster.shutdown();
+        broadcaster = newBroadcaster(2, Duration.ofMillis(100));
+        CountDownLatch stall = new CountDownLatch(1);
+        gate = stall;
+        RecordingEmitter stalled = subscribe(agent(), null);
+        commentAdded(1L, "alice");
+        assertTrue(stalled.sending.await(2, TimeUnit.SECONDS));
+        gate = null;
+        RecordingEmitter healthy = subscribe(agent(), null);
+
+        // Act: the watchdog thread drops the stalled connection while its send still holds the emitter
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (broadcaster.subscriberCount() > 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        // Assert
+        assertEquals(1, broadcaster.subscriberCount());
+        assertEquals(1, stalled.completed.getCount(), "the emitter was completed during the blocked send");
+        assertTimeoutPreemptively(Duration.ofSeconds(1), () -> {
+            broadcaster.closeStalledConnections();
+            broadcaster.heartbeat();
+        });
+        commentAdded(2L, "alice");
+        assertNull(healthy.next().name());
+        assertEquals(2L, ((ChangeEventDTO) healthy.next().data()).getTicketId());
+
+        // Once the blocked send returns, its sender closes the connection
+        stall.countDown();
+        assertTrue(stalled.completed.await(2, TimeUnit.SECONDS));
+    }
+
+    private record Sent(String id, String name, Object data) {
+    }
+
+    private static class RecordingEmitter extends SseEmitter {
+        final BlockingQueue<Sent> sent = new LinkedBlockingQueue<>();
+        final CountDownLatch sending = new CountDownLatch(1);
+        final CountDownLatch completed = new CountDownLatch(1);
+        private final CountDownLatch gate;
+
+        RecordingEmitter(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        // Locks the emitter for the whole send, like ResponseBodyEmitter
+        @Override
+        public synchronized void send(SseEventBuilder builder) throws IOException {
+            sending.countDown();
+            if (gate != null) {
+                try {
+                    gate.await(2, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            String id = null;
+            String name = null;
+            Object data = null;
+            for (ResponseBodyEmitter.DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof String text) {
+                    for (String line : text.split("\n")) {
+                        if (line.startsWith("id:")) {
+                            id = line.substring(3);
+                        } else if (line.startsWith("event:")) {
+                            name = line.substring(6);
+                        }
+                    }
+                } else {
+                    data = part.getData();
+                }
+            }
+            sent.add(new Sent(id, name, data));
+        }
+
+        @Override
+        public synchronized void complete() {
+            completed.countDown();
+            super.complete();
+        }
+
+        @Override
+        public synchronized void completeWithError(Throwable ex) {
+            completed.countDown();
+            super.completeWithError(ex);
+        }
+
+        Sent next() throws InterruptedException {
+            Sent next = sent.poll(2, TimeUnit.SECONDS);
+            assertNotNull(next, "nothing was sent");
+            return next;
+        }
+
+        Sent poll() throws InterruptedException {
+            return sent.poll(200, TimeUnit.MILLISECONDS);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package com.support_system.support.search;
+
+import com.support.search.IdBitmap;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdBitmapTest {
+
+    private static IdBitmap of(long... ids) {
+        IdBitmap bitmap = new IdBitmap();
+        for (long id : ids) {
+            bitmap.add(id);
+        }
+        return bitmap;
+    }
+
+    @Test
+    void add_IgnoresDuplicatesAndSpansContainers() {
+        // Act
+        IdBitmap bitmap = of(3, 3, 70_000, 1, 200_000);
+
+        // Assert
+        assertEquals(4, bitmap.cardinality());
+        assertTrue(bitmap.contains(70_000));
+        assertFalse(bitmap.contains(2));
+        assertArrayEquals(new long[]{200_000, 70_000, 3, 1}, bitmap.highest(10));
+    }
+
+    @Test
+    void remove_DropsEmptyContainers() {
+        // Arrange
+        IdBitmap bitmap = of(1, 70_000);
+
+        // Act
+        bitmap.remove(70_000);
+        bitmap.remove(5);
+
+        // Assert
+        assertEquals(1, bitmap.cardinality());
+        assertArrayEquals(new long[]{1}, bitmap.highest(10));
+    }
+
+    @Test
+    void andOr_MatchBitSetAcrossSparseAndDenseContainers() {
+        // Arrange: one operand dense enough to switch to bitmap containers, the other sparse
+        Random random = new Random(42);
+        IdBitmap dense = new IdBitmap();
+        IdBitmap sparse = new IdBitmap();
+        BitSet denseExpected = new BitSet();
+        BitSet sparseExpected = new BitSet();
+        for (int i = 0; i < 20_000; i++) {
+            int id = random.nextInt(140_000);
+            dense.add(id);
+            denseExpected.set(id);
+        }
+        for (int i = 0; i < 2_000; i++) {
+            int id = random.nextInt(140_000);
+            sparse.add(id);
+            sparseExpected.set(id);
+        }
+
+        // Act
+        IdBitmap and = dense.and(sparse);
+        IdBitmap or = dense.or(sparse);
+
+        // Assert
+        BitSet expectedAnd = (BitSet) denseExpected.clone();
+        expectedAnd.and(sparseExpected);
+        BitSet expectedOr = (BitSet) denseExpected.clone();
+        expectedOr.or(sparseExpected);
+        assertEquals(expectedAnd.cardinality(), and.cardinality());
+        assertEquals(expectedAnd.cardinality(), dense.andCardinality(sparse));
+        assertEquals(expectedOr.cardinality(), or.cardinality());
+        assertArrayEquals(expectedOr.stream().asLongStream().toArray(),
+                reversed(or.highest(Integer.MAX_VALUE)));
+        assertTrue(expectedAnd.stream().allMatch(and::contains));
+    }
+
+    @Test
+    void remove_FromDenseContainerKeepsRemainingIds() {
+        // Arrange
+        IdBitmap bitmap = new IdBitmap();
+        LongStream.range(0, 5_000).forEach(bitmap::add);
+
+        // Act
+        LongStream.range(0, 4_990).forEach(bitmap::remove);
+
+        // Assert
+        assertEquals(10, bitmap.cardinality());
+        assertArrayEquals(LongStream.range(4_990, 5_000).toArray(), reversed(bitmap.highest(100)));
+    }
+
+    @Test
+    void or_DoesNotShareContainersWithInputs() {
+        // Arrange
+        IdBitmap left = of(1, 2);
+        IdBitmap right = of(3);
+        IdBitmap union = left.or(right);
+
+        // Act
+        left.add(4);
+        union.remove(3);
+
+        // Assert
+        assertFalse(union.contains(4));
+        assertTrue(right.contains(3));
+    }
+
+    private static long[] reversed(long[] ids) {
+        long[] result = new long[ids.length];
+        for (int i = 0; i < ids.length; i++) {
+            result[i] = ids[ids.length - 1 - i];
+        }
+        return result;
+    }
+}
@@ -0,0 +1,101 @@
+package com.support_system.support.search;
+
+import com.support.search.InvertedIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InvertedIndexTest {
+
+    private InvertedIndex index;
+
+    @BeforeEach
+    void setUp() {
+        index = new InvertedIndex();
+        index.add(1L, "VPN disconnects", "The VPN client drops every few minutes");
+        index.add(2L, "Printer jam", "Paper stuck in the second floor printer");
+        index.add(3L, "Laptop slow", "Laptop is slow after connecting to the VPN");
+    }
+
+    @Test
+    void tokenize_LowercasesAndDropsStopWords() {
+        assertEquals(List.of("vpn", "drops", "every", "few", "minutes"),
+                InvertedIndex.tokenize("The VPN drops every few minutes!"));
+    }
+
+    @Test
+    void search_RanksTitleMatchesFirst() {
+        // Act
+        List<Long> results = index.search("vpn", 10);
+
+        // Assert
+        assertEquals(List.of(1L, 3L), results);
+    }
+
+    @Test
+    void search_MatchesAnyTermAndHonoursLimit() {
+        // Act
+        List<Long> results = index.search("printer laptop", 1);
+
+        // Assert
+        assertEquals(1, results.size());
+        assertTrue(results.get(0) == 2L || results.get(0) == 3L);
+    }
+
+    @Test
+    void search_UnknownTermsReturnNothing() {
+        assertTrue(index.search("keyboard", 10).isEmpty());
+        assertTrue(index.search("the", 10).isEmpty());
+    }
+
+    @Test
+    void add_IgnoresDuplicateIds() {
+        // Act
+        index.add(2L, "Printer jam", "Paper stuck in the second floor printer");
+
+        // Assert
+        assertEquals(3, index.size());
+        assertEquals(List.of(2L), index.search("printer", 10));
+    }
+
+    @Test
+    void matches_ReturnsEveryMatchingIdInOrder() {
+        // Act
+        index.remove(2L);
+
+        // Assert
+        assertEquals(List.of(1L, 3L), index.matches("printer vpn laptop"));
+    }
+
+    @Test
+    void remove_StopsMatchingAndAllowsReAdding() {
+        // Act
+        index.remove(1L);
+
+        // Assert
+        assertEquals(List.of(3L), index.search("vpn", 10));
+        assertFalse(index.contains(1L));
+        assertEquals(2, index.size());
+
+        // Act
+        index.add(1L, "Printer offline", "");
+
+        // Assert
+        assertEquals(List.of(3L), index.search("vpn", 10));
+        assertTrue(index.search("printer", 10).contains(1L));
+    }
+
+    @Test
+    void remove_CompactsOnceManyDocumentsAreGone() {
+        // Act
+        index.remove(1L);
+        index.remove(3L);
+
+        // Assert
+        assertTrue(index.search("vpn", 10).isEmpty());
+        assertEquals(List.of(2L), index.search("printer", 10));
+    }
+}
@@ -0,0 +1,111 @@
+package com.support_system.support.search;
+
+import com.support.dto.TicketAttributes;
+import com.support.dto.TicketDTO;
+import com.support.dto.TicketFacetsDTO;
+import com.support.entity.Ticket;
+import com.support.event.TicketChangedEvent;
+import com.support.repository.ArchivedTicketRepository;
+import com.support.repository.TicketRepository;
+import com.support.search.TicketFacetIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketFacetIndexTest {
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private ArchivedTicketRepository archivedTicketRepository;
+
+    @InjectMocks
+    private TicketFacetIndex index;
+
+    @BeforeEach
+    void setUp() {
+        when(ticketRepository.streamAttributes()).thenReturn(Stream.of(
+                new TicketAttributes(1L, Ticket.Status.NEW, Ticket.Priority.HIGH, Ticket.Category.NETWORK, "alice"),
+                new TicketAttributes(2L, Ticket.Status.IN_PROGRESS, Ticket.Priority.HIGH, Ticket.Category.SOFTWARE, "bob"),
+                new TicketAttributes(3L, Ticket.Status.NEW, Ticket.Priority.LOW, Ticket.Category.NETWORK, "bob")));
+        when(archivedTicketRepository.streamAttributes()).thenReturn(Stream.of(
+                new TicketAttributes(4L, Ticket.Status.RESOLVED, Ticket.Priority.HIGH, Ticket.Category.HARDWARE, "alice")));
+        index.rebuild();
+    }
+
+    @Test
+    void query_OrsWithinFacetAndAndsAcross() {
+        // Act
+        TicketFacetsDTO facets = index.query(Set.of(Ticket.Status.NEW, Ticket.Status.RESOLVED),
+                Set.of(Ticket.Priority.HIGH), null, null, 10);
+
+        // Assert
+        assertEquals(2, facets.getTotal());
+        assertEquals(List.of(4L, 1L), facets.getTicketIds());
+    }
+
+    @Test
+    void query_CountsEachFacetWithTheOtherFacetsSelections() {
+        // Act
+        TicketFacetsDTO facets = index.query(Set.of(Ticket.Status.NEW), null, null, Set.of("bob"), 10);
+
+        // Assert
+        assertEquals(List.of(3L), facets.getTicketIds());
+        // Status counts ignore the status selection but apply the creator
+        assertEquals(1L, facets.getByStatus().get(Ticket.Status.NEW));
+        assertEquals(1L, facets.getByStatus().get(Ticket.Status.IN_PROGRESS));
+        assertEquals(0L, facets.getByStatus().get(Ticket.Status.RESOLVED));
+        // Creator counts ignore the creator selection; creators without matches are left out
+        assertEquals(Map.of("alice", 1L, "bob", 1L), facets.getByCreatedBy());
+    }
+
+    @Test
+    void query_HonoursLimitAndUnknownValues() {
+        // Act
+        TicketFacetsDTO all = index.query(null, null, null, null, 2);
+        TicketFacetsDTO nobody = index.query(null, null, null, Set.of("carol"), 10);
+
+        // Assert
+        assertEquals(4, all.getTotal());
+        assertEquals(List.of(4L, 3L), all.getTicketIds());
+        assertEquals(0, nobody.getTotal());
+        assertTrue(nobody.getTicketIds().isEmpty());
+    }
+
+    @Test
+    void onTicketChanged_MovesStatusAndIndexesNewTickets() {
+        // Arrange
+        TicketDTO moved = new TicketDTO();
+        moved.setId(1L);
+        moved.setStatus(Ticket.Status.RESOLVED);
+        TicketDTO created = new TicketDTO();
+        created.setId(5L);
+        created.setStatus(Ticket.Status.NEW);
+        created.setPriority(Ticket.Priority.MEDIUM);
+        created.setCategory(Ticket.Category.OTHER);
+        created.setCreatedByUsername("carol");
+
+        // Act
+        index.onTicketChanged(new TicketChangedEvent(TicketChangedEvent.Type.STATUS_CHANGED, moved, Ticket.Status.NEW));
+        index.onTicketChanged(new TicketChangedEvent(TicketChangedEvent.Type.CREATED, created, null));
+
+        // Assert
+        TicketFacetsDTO facets = index.query(Set.of(Ticket.Status.NEW), null, null, null, 10);
+        assertEquals(List.of(5L, 3L), facets.getTicketIds());
+        assertEquals(2L, facets.getByStatus().get(Ticket.Status.RESOLVED));
+        assertEquals(Map.of("bob", 1L, "carol", 1L), facets.getByCreatedBy());
+    }
+}
@@ -0,0 +1,131 @@
+package com.support_system.support.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.support.dto.AuthResponse;
+import com.support.entity.User;
+import com.support.security.AccessTokenService;
+import com.support.security.AuthenticatedUser;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AccessTokenServiceTest {
+    private static final String SECRET = "0123456789abcdef0123456789abcdef";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private AccessTokenService tokens;
+    private User user;
+
+    @BeforeEach
+    void setUp() {
+        tokens = new AccessTokenService(objectMapper, SECRET, Duration.ofMinutes(15));
+        user = new User();
+        user.setId(7L);
+        user.setUsername("agent");
+        user.setFullName("Agent Smith");
+        user.setPassword("$2a$10$hash");
+        user.setRole(User.Role.IT_SUPPORT);
+    }
+
+    @Test
+    void verify_AcceptsIssuedToken() {
+        // Act
+        AuthResponse response = tokens.issue(user);
+        Optional<AuthenticatedUser> principal = tokens.verify(response.getAccessToken());
+
+        // Assert
+        assertTrue(principal.isPresent());
+        assertEquals(7L, principal.get().getId());
+        assertEquals("agent", principal.get().getUsername());
+        assertEquals(User.Role.IT_SUPPORT, principal.get().getRole());
+    }
+
+    @Test
+    void verify_RejectsTamperedSignatureAndPayload() {
+        // Arrange
+        String token = tokens.issue(user).getAccessToken();
+        int lastDot = token.lastIndexOf('.');
+        // The first signature character carries six significant bits
+        char first = token.charAt(lastDot + 1);
+        String badSignature = token.substring(0, lastDot + 1) + (first == 'A' ? 'B' : 'A') + token.substring(lastDot + 2);
+        String payload = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                "{\"sub\":\"agent\",\"uid\":7,\"role\":\"IT_SUPPORT\",\"exp\":9999999999}".getBytes(StandardCharsets.UTF_8));
+        String forgedPayload = token.substring(0, token.indexOf('.') + 1) + payload + token.substring(lastDot);
+
+        // Act & Assert
+        assertTrue(tokens.verify(badSignature).isEmpty());
+        assertTrue(tokens.verify(forgedPayload).isEmpty());
+    }
+
+    @Test
+    void verify_RejectsTokenSignedWithAnotherSecret() {
+        // Arrange
+        AccessTokenService otherNode = new AccessTokenService(objectMapper,
+                "another-secret-that-is-long-enough!", Duration.ofMinutes(15));
+
+        // Act & Assert
+        assertTrue(tokens.verify(otherNode.issue(user).getAccessToken()).isEmpty());
+    }
+
+    @Test
+    void verify_RejectsExpiredToken() {
+        // Arrange
+        AccessTokenService expiring = new AccessTokenService(objectMapper, SECRET, Duration.ofSeconds(-1));
+
+        // Act & Assert
+        assertTrue(expiring.verify(expiring.issue(user).getAccessToken()).isEmpty());
+    }
+
+    @Test
+    void verify_RejectsWrongHeader() {
+        // Arrange
+        String token = tokens.issue(user).getAccessToken();
+        String noneHeader = Base64.getUrlEncoder().withoutPadding().encodeToString(
+                "{\"alg\":\"none\",\"typ\":\"JWT\"}".getBytes(StandardCharsets.UTF_8));
+
+        // Act & Assert
+        assertTrue(tokens.verify(noneHeader + token.substring(token.indexOf('.'))).isEmpty());
+        assertTrue(tokens.verify("not-a-token").isEmpty());
+    }
+
+    @Test
+    void constructor_RejectsShortSecret() {
+        assertThrows(IllegalStateException.class,
+                () -> new AccessTokenService(objectMapper, "too-short", Duration.ofMinutes(15)));
+    }
+
+    @Test
+    void refresh_IssuesFromStoredRole() {
+        // Arrange
+        String token = tokens.issue(user).getAccessToken();
+        user.setRole(User.Role.EMPLOYEE);
+
+        // Act
+        AuthResponse refreshed = tokens.refresh(user, "Bearer " + token);
+
+        // Assert
+        assertEquals(User.Role.EMPLOYEE, tokens.verify(refreshed.getAccessToken()).orElseThrow().getRole());
+    }
+
+    @Test
+    void refresh_RejectsTokenIssuedBeforePasswordChange() {
+        // Arrange
+        String token = tokens.issue(user).getAccessToken();
+        user.setPassword("$2a$10$newhash");
+
+        // Act
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> tokens.refresh(user, "Bearer " + token));
+
+        // Assert
+        assertEquals(HttpStatus.UNAUTHORIZED, e.getStatusCode());
+    }
+}
@@ -0,0 +1,104 @@
+package com.support_system.support.security;
+
+import com.support.security.CachingAuthenticationProvider;
+import com.support.security.CredentialCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationProvider;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.authority.AuthorityUtils;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CachingAuthenticationProviderTest {
+
+    @Mock
+    private AuthenticationProvider delegate;
+
+    private CredentialCache credentialCache;
+    private CachingAuthenticationProvider provider;
+    private Authentication verified;
+
+    @BeforeEach
+    void setUp() {
+        credentialCache = new CredentialCache(100, Duration.ofMinutes(5));
+        provider = new CachingAuthenticationProvider(delegate, credentialCache);
+        verified = UsernamePasswordAuthenticationToken.authenticated(
+                "testuser", null, AuthorityUtils.createAuthorityList("ROLE_EMPLOYEE"));
+    }
+
+    @Test
+    void authenticate_RepeatedCredentialsHitCache() {
+        // Arrange
+        when(delegate.authenticate(any())).thenReturn(verified);
+
+        // Act
+        Authentication first = provider.authenticate(request("testuser", "secret"));
+        Authentication second = provider.authenticate(request("testuser", "secret"));
+
+        // Assert
+        assertSame(verified, first);
+        assertEquals(verified.getPrincipal(), second.getPrincipal());
+        assertEquals(verified.getAuthorities(), second.getAuthorities());
+        assertTrue(second.isAuthenticated());
+        verify(delegate, times(1)).authenticate(any());
+    }
+
+    @Test
+    void authenticate_CacheHitCarriesTheCurrentRequestsDetails() {
+        // Arrange
+        when(delegate.authenticate(any())).thenReturn(verified);
+        provider.authenticate(request("testuser", "secret"));
+        UsernamePasswordAuthenticationToken second = UsernamePasswordAuthenticationToken.unauthenticated("testuser", "secret");
+        second.setDetails("10.0.0.2");
+
+        // Act
+        Authentication result = provider.authenticate(second);
+
+        // Assert
+        assertNotSame(verified, result);
+        assertEquals("10.0.0.2", result.getDetails());
+        assertNull(result.getCredentials());
+    }
+
+    @Test
+    void authenticate_WrongPasswordIsNotServedFromCache() {
+        // Arrange
+        when(delegate.authenticate(any()))
+                .thenReturn(verified)
+                .thenThrow(new BadCredentialsException("Bad credentials"));
+        provider.authenticate(request("testuser", "secret"));
+
+        // Act & Assert
+        assertThrows(BadCredentialsException.class, () -> provider.authenticate(request("testuser", "wrong")));
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    @Test
+    void evictUser_ForcesFullVerification() {
+        // Arrange
+        when(delegate.authenticate(any())).thenReturn(verified);
+        provider.authenticate(request("testuser", "secret"));
+
+        // Act
+        credentialCache.evictUser("testuser");
+        provider.authenticate(request("testuser", "secret"));
+
+        // Assert
+        verify(delegate, times(2)).authenticate(any());
+    }
+
+    private Authentication request(String username, String password) {
+        return UsernamePasswordAuthenticationToken.unauthenticated(username, password);
+    }
+}
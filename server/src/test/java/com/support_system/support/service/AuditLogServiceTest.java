@@ -0,0 +1,129 @@
+package com.support_system.support.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.support.dto.AuditLogDTO;
+import com.support.dto.AuditLogFilter;
+import com.support.dto.CursorPage;
+import com.support.dto.KeysetCursor;
+import com.support.repository.ArchivedAuditLogRepository;
+import com.support.repository.AuditLogRepository;
+import com.support.repository.UserRepository;
+import com.support.service.AuditLogService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class AuditLogServiceTest {
+
+    @Mock
+    private AuditLogRepository auditLogRepository;
+
+    @Mock
+    private ArchivedAuditLogRepository archivedAuditLogRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Spy
+    private ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    @InjectMocks
+    private AuditLogService auditLogService;
+
+    @Test
+    void search_ReturnsCursorWhenMoreRowsExist() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        AuditLogDTO newer = new AuditLogDTO(2L, 10L, "admin", "STATUS_CHANGED", "NEW", "RESOLVED", now);
+        AuditLogDTO older = new AuditLogDTO(1L, 10L, "admin", "STATUS_CHANGED", "NONE", "NEW", now.minusDays(1));
+        AuditLogFilter filter = new AuditLogFilter();
+        filter.setAction("STATUS_CHANGED");
+        filter.setFrom(now.minusDays(30));
+        when(auditLogRepository.findPage(any(), isNull(), eq(2))).thenReturn(List.of(newer, older));
+
+        // Act
+        CursorPage<AuditLogDTO> page = auditLogService.search(filter, null, 1);
+
+        // Assert
+        assertEquals(List.of(newer), page.getItems());
+        KeysetCursor cursor = KeysetCursor.decode(page.getNextCursor());
+        assertEquals(2L, cursor.getId());
+        assertEquals(now, cursor.getTimestamp());
+    }
+
+    @Test
+    void search_UnknownUserSkipsQuery() {
+        // Arrange
+        AuditLogFilter filter = new AuditLogFilter();
+        filter.setUsername("ghost");
+        when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        // Act
+        CursorPage<AuditLogDTO> page = auditLogService.search(filter, null, 50);
+
+        // Assert
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNextCursor());
+        verifyNoInteractions(auditLogRepository);
+    }
+
+    @Test
+    void search_IncludeArchivedMergesBothTablesNewestFirst() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        AuditLogDTO hot = new AuditLogDTO(300L, 30L, "admin", "STATUS_CHANGED", "NEW", "IN_PROGRESS", now);
+        AuditLogDTO archived = new AuditLogDTO(200L, 20L, "admin", "STATUS_CHANGED", "NEW", "RESOLVED", now.minusDays(100));
+        AuditLogDTO oldest = new AuditLogDTO(100L, 10L, "admin", "STATUS_CHANGED", "NEW", "RESOLVED", now.minusDays(200));
+        AuditLogFilter filter = new AuditLogFilter();
+        filter.setIncludeArchived(true);
+        when(auditLogRepository.findPage(any(), isNull(), eq(3))).thenReturn(List.of(hot));
+        when(archivedAuditLogRepository.findPage(any(), isNull(), eq(3))).thenReturn(List.of(archived, oldest));
+
+        // Act
+        CursorPage<AuditLogDTO> page = auditLogService.search(filter, null, 2);
+
+        // Assert
+        assertEquals(List.of(hot, archived), page.getItems());
+        assertEquals(200L, KeysetCursor.decode(page.getNextCursor()).getId());
+    }
+
+    @Test
+    void export_WritesMergedNdjsonLines() throws Exception {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        AuditLogDTO hot = new AuditLogDTO(300L, 30L, "admin", "STATUS_CHANGED", "NEW", "IN_PROGRESS", now);
+        AuditLogDTO archived = new AuditLogDTO(200L, 20L, "admin", "STATUS_CHANGED", "NEW", "RESOLVED", now.minusDays(100));
+        AuditLogFilter filter = new AuditLogFilter();
+        filter.setIncludeArchived(true);
+        when(auditLogRepository.stream(any())).thenReturn(Stream.of(hot));
+        when(archivedAuditLogRepository.stream(any())).thenReturn(Stream.of(archived));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        auditLogService.export(filter, out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[1].startsWith("{"));
+        assertEquals(300L, objectMapper.readValue(lines[0], AuditLogDTO.class).getId());
+        assertEquals(200L, objectMapper.readValue(lines[1], AuditLogDTO.class).getId());
+    }
+}
@@ -0,0 +1,146 @@
+package com.support_system.support.service;
+
+import com.support.dto.AddCommentRequest;
+import com.support.dto.CommentDTO;
+import com.support.dto.CommentPage;
+import com.support.dto.KeysetCursor;
+import com.support.repository.ArchivedCommentRepository;
+import com.support.repository.CommentRepository;
+import com.support.repository.TicketRepository;
+import com.support.repository.UserRepository;
+import com.support.entity.Comment;
+import com.support.entity.Ticket;
+import com.support.entity.User;
+import com.support.event.CommentAddedEvent;
+import com.support.security.AuthenticatedUser;
+import com.support.security.CurrentUserProvider;
+import com.support.service.CommentService;
+import com.support.sync.TicketChangeVersions;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Pageable;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CommentServiceTest {
+
+    @Mock
+    private CommentRepository commentRepository;
+
+    @Mock
+    private ArchivedCommentRepository archivedCommentRepository;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CurrentUserProvider currentUserProvider;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TicketChangeVersions changeVersions;
+
+    @InjectMocks
+    private CommentService commentService;
+
+    @Test
+    void addComment_UnknownTicketThrowsWithoutInsert() {
+        // Arrange
+        when(currentUserProvider.get()).thenReturn(
+                new AuthenticatedUser(1L, "employee", "", "Test Employee", User.Role.EMPLOYEE));
+        when(ticketRepository.lockById(99L)).thenReturn(Optional.empty());
+        AddCommentRequest request = new AddCommentRequest();
+        request.setTicketId(99L);
+        request.setContent("Hello");
+
+        // Act & Assert
+        assertThrows(EntityNotFoundException.class, () -> commentService.addComment(request));
+        verify(commentRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any(CommentAddedEvent.class));
+    }
+
+    @Test
+    void addComment_BumpsTicketCountersAndPublishesEvent() {
+        // Arrange
+        when(currentUserProvider.get()).thenReturn(
+                new AuthenticatedUser(1L, "admin", "", "Admin", User.Role.IT_SUPPORT));
+        User creator = new User();
+        creator.setUsername("employee");
+        Ticket ticket = new Ticket();
+        ticket.setId(5L);
+        ticket.setCreatedBy(creator);
+        ticket.setCommentCount(2);
+        when(ticketRepository.lockById(5L)).thenReturn(Optional.of(ticket));
+        when(commentRepository.save(any(Comment.class))).thenAnswer(invocation -> invocation.getArgument(0));
+        AddCommentRequest request = new AddCommentRequest();
+        request.setTicketId(5L);
+        request.setContent("On it");
+
+        // Act
+        commentService.addComment(request);
+
+        // Assert
+        assertEquals(3, ticket.getCommentCount());
+        assertNotNull(ticket.getLastActivityAt());
+        ArgumentCaptor<CommentAddedEvent> event = ArgumentCaptor.forClass(CommentAddedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(5L, event.getValue().getTicketId());
+        assertEquals("employee", event.getValue().getTicketCreatedByUsername());
+        assertEquals(3, event.getValue().getCommentCount());
+    }
+
+    @Test
+    void getCommentsForTicket_ReturnsPageWithCursorAndTotal() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        CommentDTO newer = new CommentDTO(2L, "Second", 1L, "admin", now);
+        CommentDTO older = new CommentDTO(1L, "First", 1L, "employee", now.minusMinutes(5));
+        when(commentRepository.countByTicketId(1L)).thenReturn(120L);
+        when(commentRepository.findFirstPageByTicketId(eq(1L), any(Pageable.class))).thenReturn(List.of(newer, older));
+
+        // Act
+        CommentPage page = commentService.getCommentsForTicket(1L, null, 1, false);
+
+        // Assert
+        assertEquals(List.of(newer), page.getItems());
+        assertEquals(120L, page.getTotalCount());
+        KeysetCursor cursor = KeysetCursor.decode(page.getNextCursor());
+        assertEquals(2L, cursor.getId());
+        assertEquals(now, cursor.getTimestamp());
+    }
+
+    @Test
+    void getCommentsForTicket_NoCommentsSkipsPageQuery() {
+        // Arrange
+        when(commentRepository.countByTicketId(1L)).thenReturn(0L);
+
+        // Act
+        CommentPage page = commentService.getCommentsForTicket(1L, null, 50, false);
+
+        // Assert
+        assertTrue(page.getItems().isEmpty());
+        assertNull(page.getNextCursor());
+        assertEquals(0L, page.getTotalCount());
+        verify(commentRepository, never()).findFirstPageByTicketId(any(), any());
+        verifyNoInteractions(archivedCommentRepository);
+    }
+}
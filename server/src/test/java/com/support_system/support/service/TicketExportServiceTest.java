@@ -0,0 +1,87 @@
+package com.support_system.support.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.support.dto.TicketDTO;
+import com.support.entity.Ticket;
+import com.support.repository.TicketRepository;
+import com.support.service.TicketExportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketExportServiceTest {
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+
+    private TicketExportService ticketExportService;
+
+    @BeforeEach
+    void setUp() {
+        ticketExportService = new TicketExportService(ticketRepository, objectMapper);
+    }
+
+    private static TicketDTO ticket(long id, String title, String description) {
+        return new TicketDTO(id, title, description, Ticket.Priority.HIGH, Ticket.Category.NETWORK,
+                Ticket.Status.NEW, LocalDateTime.of(2024, 1, 2, 10, 0), "alice", 0,
+                LocalDateTime.of(2024, 1, 2, 10, 0), 1);
+    }
+
+    private String export(TicketExportService.Format format, TicketDTO... tickets) throws Exception {
+        when(ticketRepository.streamAll()).thenReturn(Stream.of(tickets));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ticketExportService.export(format, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void export_CsvQuotesAndEscapesFields() throws Exception {
+        // Act
+        String csv = export(TicketExportService.Format.CSV,
+                ticket(1L, "VPN down", "Plain"),
+                ticket(2L, "Printer, 2nd floor", "Says \"jam\"\nthen stops"));
+
+        // Assert
+        assertEquals("id,title,description,priority,category,status,creationDate,createdByUsername\n" +
+                     "1,VPN down,Plain,HIGH,NETWORK,NEW,2024-01-02T10:00,alice\n" +
+                     "2,\"Printer, 2nd floor\",\"Says \"\"jam\"\"\nthen stops\",HIGH,NETWORK,NEW,2024-01-02T10:00,alice\n",
+                csv);
+    }
+
+    @Test
+    void export_NdjsonWritesOneObjectPerLine() throws Exception {
+        // Act
+        String ndjson = export(TicketExportService.Format.NDJSON,
+                ticket(1L, "VPN down", "Plain"),
+                ticket(2L, "Printer", "Line one\nline two"),
+                ticket(3L, "Laptop", "Slow"));
+
+        // Assert
+        assertTrue(ndjson.endsWith("\n"));
+        String[] lines = ndjson.split("\n");
+        assertEquals(3, lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            assertTrue(lines[i].startsWith("{"), "line " + (i + 1) + " starts with " + lines[i].charAt(0));
+            assertEquals(i + 1L, objectMapper.readValue(lines[i], TicketDTO.class).getId());
+        }
+    }
+
+    @Test
+    void export_NdjsonOfNoTicketsIsEmpty() throws Exception {
+        assertEquals("", export(TicketExportService.Format.NDJSON));
+    }
+}
@@ -0,0 +1,142 @@
+package com.support_system.support.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.support.dto.TicketImportResult;
+import com.support.entity.Ticket;
+import com.support.entity.User;
+import com.support.event.TicketChangedEvent;
+import com.support.repository.AuditLogRepository;
+import com.support.repository.TicketRepository;
+import com.support.repository.UserRepository;
+import com.support.security.AuthenticatedUser;
+import com.support.security.CurrentUserProvider;
+import com.support.service.TicketExportService;
+import com.support.service.TicketImportService;
+import com.support.sync.TicketChangeVersions;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketImportServiceTest {
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private AuditLogRepository auditLogRepository;
+
+    @Mock
+    private CurrentUserProvider currentUserProvider;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private TicketChangeVersions changeVersions;
+
+    private TicketImportService ticketImportService;
+
+    @BeforeEach
+    void setUp() {
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+        ticketImportService = new TicketImportService(ticketRepository, userRepository, auditLogRepository,
+                currentUserProvider, eventPublisher, transactionTemplate, entityManager, changeVersions, objectMapper, 2);
+
+        when(currentUserProvider.get()).thenReturn(
+                new AuthenticatedUser(1L, "admin", "", "Admin", User.Role.IT_SUPPORT));
+        doAnswer(invocation -> {
+            Consumer<TransactionStatus> action = invocation.getArgument(0);
+            action.accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void importTickets_CsvCommitsInBatchesAndReportsRejectedLines() throws Exception {
+        // Arrange
+        String csv = "id,title,description,priority,category,status,creationDate,createdByUsername\n" +
+                     "7,VPN down,\"Drops, then\nreconnects\",HIGH,NETWORK,NEW,2024-01-02T10:00,\n" +
+                     "8,Printer,Jammed,URGENT,HARDWARE,NEW,,\n" +
+                     "9,Laptop,Slow,LOW,HARDWARE,,,ghost\n" +
+                     "10,Monitor,Flickers,LOW,HARDWARE,RESOLVED,,\n" +
+                     "11,Mouse,Broken,LOW,HARDWARE,,,\n";
+        when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        // Act
+        TicketImportResult result = ticketImportService.importTickets(TicketExportService.Format.CSV,
+                new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertEquals(3, result.getImported());
+        assertEquals(2, result.getRejected());
+        assertEquals(List.of("line 4: invalid priority 'URGENT'", "line 5: unknown user 'ghost'"), result.getErrors());
+        verify(transactionTemplate, times(2)).executeWithoutResult(any());
+        verify(ticketRepository, times(2)).saveAll(any(List.class));
+        verify(auditLogRepository, times(2)).saveAll(any(List.class));
+        verify(eventPublisher, times(3)).publishEvent(any(TicketChangedEvent.class));
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void importTickets_NdjsonSkipsMalformedLines() throws Exception {
+        // Arrange
+        String ndjson = "{\"title\":\"VPN down\",\"description\":\"Drops\",\"priority\":\"HIGH\",\"category\":\"NETWORK\"}\n" +
+                        "\n" +
+                        "{\"title\":\"Broken\n" +
+                        "{\"title\":\"\",\"description\":\"No title\",\"priority\":\"LOW\",\"category\":\"OTHER\"}\n";
+
+        // Act
+        TicketImportResult result = ticketImportService.importTickets(TicketExportService.Format.NDJSON,
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        assertEquals(1, result.getImported());
+        assertEquals(2, result.getRejected());
+        assertTrue(result.getErrors().get(0).startsWith("line 3:"));
+        assertEquals("line 4: title is required", result.getErrors().get(1));
+    }
+
+    @Test
+    void importTickets_AssignsImporterWhenCreatorMissing() throws Exception {
+        // Arrange
+        String ndjson = "{\"title\":\"VPN\",\"description\":\"Down\",\"priority\":\"HIGH\",\"category\":\"NETWORK\"}\n";
+
+        // Act
+        ticketImportService.importTickets(TicketExportService.Format.NDJSON,
+                new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)));
+
+        // Assert
+        verify(userRepository, never()).findByUsername(any());
+        verify(eventPublisher).publishEvent(argThat((TicketChangedEvent event) ->
+                "admin".equals(event.getTicket().getCreatedByUsername())
+                        && event.getTicket().getStatus() == Ticket.Status.NEW));
+    }
+}
@@ -1,29 +1,50 @@
 package com.support_system.support.service;
 
+import com.support.audit.AuditTrail;
+import com.support.dto.BulkStatusUpdateResult;
+import com.support.dto.ChangeCursor;
 import com.support.dto.CreateTicketRequest;
+import com.support.dto.CursorPage;
+import com.support.dto.KeysetCursor;
+import com.support.dto.TicketChangesDTO;
 import com.support.dto.TicketDTO;
+import com.support.dto.TicketFilter;
 import com.support.entity.Ticket;
 import com.support.entity.User;
-import com.support.repository.AuditLogRepository;
+import com.support.repository.ArchivedTicketRepository;
 import com.support.repository.TicketRepository;
+import com.support.event.TicketChangedEvent;
 import com.support.repository.UserRepository;
+import com.support.search.TicketSearchIndex;
+import com.support.security.AuthenticatedUser;
+import com.support.security.CurrentUserProvider;
 import com.support.service.TicketService;
+import com.support.sync.TicketChangeVersions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContext;
-import org.springframework.security.core.context.SecurityContextHolder;
-
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,17 +53,29 @@ class TicketServiceTest {
     @Mock
     private TicketRepository ticketRepository;
 
+    @Mock
+    private ArchivedTicketRepository archivedTicketRepository;
+
     @Mock
     private UserRepository userRepository;
 
     @Mock
-    private AuditLogRepository auditLogRepository;
+    private AuditTrail auditTrail;
+
+    @Mock
+    private CurrentUserProvider currentUserProvider;
+
+    @Mock
+    private TicketSearchIndex ticketSearchIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
 
     @Mock
-    private SecurityContext securityContext;
+    private TicketChangeVersions changeVersions;
 
     @Mock
-    private Authentication authentication;
+    private TransactionTemplate transactionTemplate;
 
     @InjectMocks
     private TicketService ticketService;
@@ -65,23 +98,34 @@ class TicketServiceTest {
         testTicket.setCreatedBy(testUser);
     }
 
-    private void setupSecurityContext() {
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        when(authentication.getName()).thenReturn("testuser");
-        SecurityContextHolder.setContext(securityContext);
+    private TicketDTO toDTO(Ticket ticket) {
+        return new TicketDTO(ticket.getId(), ticket.getTitle(), ticket.getDescription(), ticket.getPriority(),
+                ticket.getCategory(), ticket.getStatus(), ticket.getCreationDate(),
+                ticket.getCreatedBy().getUsername(), ticket.getCommentCount(), ticket.getLastActivityAt(),
+                ticket.getChangeVersion());
+    }
+
+    private void runTransactionsInline() {
+        when(transactionTemplate.execute(any())).thenAnswer(invocation ->
+                invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(mock(TransactionStatus.class)));
+    }
+
+    private void setupCurrentUser() {
+        when(currentUserProvider.get()).thenReturn(new AuthenticatedUser(
+                testUser.getId(), testUser.getUsername(), "", "Test User", testUser.getRole()));
     }
 
     @Test
     void createTicket_Success() {
         // Arrange
-        setupSecurityContext();
+        setupCurrentUser();
         CreateTicketRequest request = new CreateTicketRequest();
         request.setTitle("Test Ticket");
         request.setDescription("Test Description");
         request.setPriority(Ticket.Priority.MEDIUM);
         request.setCategory(Ticket.Category.SOFTWARE);
 
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
+        when(userRepository.getReferenceById(1L)).thenReturn(testUser);
         when(ticketRepository.save(any(Ticket.class))).thenReturn(testTicket);
 
         // Act
@@ -91,16 +135,18 @@ class TicketServiceTest {
         assertNotNull(result);
         assertEquals("Test Ticket", result.getTitle());
         assertEquals("testuser", result.getCreatedByUsername());
-        verify(auditLogRepository, times(1)).save(any());
+        verify(userRepository, never()).findByUsername(any());
+        verify(auditTrail).record(1L, 1L, "TICKET_CREATED", "NONE", "NEW");
+        verify(eventPublisher).publishEvent(any(TicketChangedEvent.class));
     }
 
     @Test
     void updateTicketStatus_Success() {
         // Arrange
-        setupSecurityContext();
+        setupCurrentUser();
+        runTransactionsInline();
         when(ticketRepository.findById(1L)).thenReturn(Optional.of(testTicket));
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        when(ticketRepository.save(any(Ticket.class))).thenReturn(testTicket);
+        when(ticketRepository.saveAndFlush(any(Ticket.class))).thenReturn(testTicket);
 
         // Act
         TicketDTO result = ticketService.updateTicketStatus(1L, Ticket.Status.IN_PROGRESS);
@@ -108,18 +154,98 @@ class TicketServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(Ticket.Status.IN_PROGRESS, result.getStatus());
-        verify(auditLogRepository, times(1)).save(any());
+        verify(auditTrail).record(1L, 1L, "STATUS_CHANGED", "NEW", "IN_PROGRESS");
+    }
+
+    @Test
+    void updateTicketStatus_RetriesOnFreshRowAfterLostRace() {
+        // Arrange
+        setupCurrentUser();
+        runTransactionsInline();
+        Ticket fresh = new Ticket();
+        fresh.setId(1L);
+        fresh.setStatus(Ticket.Status.IN_PROGRESS);
+        fresh.setCreatedBy(testUser);
+        when(ticketRepository.findById(1L)).thenReturn(Optional.of(testTicket), Optional.of(fresh));
+        when(ticketRepository.saveAndFlush(any(Ticket.class)))
+                .thenThrow(new OptimisticLockingFailureException("stale"))
+                .thenReturn(fresh);
+
+        // Act
+        TicketDTO result = ticketService.updateTicketStatus(1L, Ticket.Status.RESOLVED);
+
+        // Assert
+        assertEquals(Ticket.Status.RESOLVED, result.getStatus());
+        verify(transactionTemplate, times(2)).execute(any());
+        verify(auditTrail).record(1L, 1L, "STATUS_CHANGED", "IN_PROGRESS", "RESOLVED");
+        verify(auditTrail, never()).record(1L, 1L, "STATUS_CHANGED", "NEW", "RESOLVED");
+    }
+
+    @Test
+    void updateTicketStatus_GivesUpWithConflictAfterMaxAttempts() {
+        // Arrange
+        setupCurrentUser();
+        runTransactionsInline();
+        when(ticketRepository.findById(1L)).thenAnswer(invocation -> {
+            testTicket.setStatus(Ticket.Status.NEW);
+            return Optional.of(testTicket);
+        });
+        when(ticketRepository.saveAndFlush(any(Ticket.class))).thenThrow(new OptimisticLockingFailureException("stale"));
+
+        // Act
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> ticketService.updateTicketStatus(1L, Ticket.Status.RESOLVED));
+
+        // Assert
+        assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+        verify(transactionTemplate, times(3)).execute(any());
+        // The version is only allocated once the row is locked
+        verifyNoInteractions(auditTrail, eventPublisher, changeVersions);
+    }
+
+    @Test
+    void updateTicketStatus_ExpectedStatusMismatch_Conflict() {
+        // Arrange
+        setupCurrentUser();
+        runTransactionsInline();
+        testTicket.setStatus(Ticket.Status.IN_PROGRESS);
+        when(ticketRepository.findById(1L)).thenReturn(Optional.of(testTicket));
+
+        // Act
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> ticketService.updateTicketStatus(1L, Ticket.Status.RESOLVED, Ticket.Status.NEW));
+
+        // Assert
+        assertEquals(HttpStatus.CONFLICT, e.getStatusCode());
+        verify(ticketRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(auditTrail, changeVersions);
+    }
+
+    @Test
+    void updateTicketStatus_AlreadyInStatus_LeavesTicketUntouched() {
+        // Arrange
+        setupCurrentUser();
+        runTransactionsInline();
+        when(ticketRepository.findById(1L)).thenReturn(Optional.of(testTicket));
+
+        // Act
+        TicketDTO result = ticketService.updateTicketStatus(1L, Ticket.Status.NEW, Ticket.Status.NEW);
+
+        // Assert
+        assertEquals(Ticket.Status.NEW, result.getStatus());
+        verify(ticketRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(auditTrail, eventPublisher);
     }
 
     @Test
     void getTicketsForCurrentUser_AsRegularUser() {
         // Arrange
-        setupSecurityContext();
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        when(ticketRepository.findByCreatedBy(testUser)).thenReturn(Arrays.asList(testTicket));
+        setupCurrentUser();
+        when(ticketRepository.findFirstPageByCreatedBy(eq(testUser.getId()), any(Pageable.class)))
+                .thenReturn(Arrays.asList(toDTO(testTicket)));
 
         // Act
-        List<TicketDTO> results = ticketService.getTicketsForCurrentUser();
+        List<TicketDTO> results = ticketService.getTicketsForCurrentUser(null, 50, false).getItems();
 
         // Assert
         assertFalse(results.isEmpty());
@@ -130,13 +256,12 @@ class TicketServiceTest {
     @Test
     void getTicketsForCurrentUser_AsITSupport() {
         // Arrange
-        setupSecurityContext();
         testUser.setRole(User.Role.IT_SUPPORT);
-        when(userRepository.findByUsername("testuser")).thenReturn(Optional.of(testUser));
-        when(ticketRepository.findAll()).thenReturn(Arrays.asList(testTicket));
+        setupCurrentUser();
+        when(ticketRepository.findFirstPage(any(Pageable.class))).thenReturn(Arrays.asList(toDTO(testTicket)));
 
         // Act
-        List<TicketDTO> results = ticketService.getTicketsForCurrentUser();
+        List<TicketDTO> results = ticketService.getTicketsForCurrentUser(null, 50, false).getItems();
 
         // Assert
         assertFalse(results.isEmpty());
@@ -147,10 +272,10 @@ class TicketServiceTest {
     @Test
     void searchTickets_ByTicketId() {
         // Arrange
-        when(ticketRepository.findById(1L)).thenReturn(Optional.of(testTicket));
+        when(ticketRepository.findDtoById(1L)).thenReturn(Optional.of(toDTO(testTicket)));
 
         // Act
-        List<TicketDTO> results = ticketService.searchTickets(1L, null);
+        List<TicketDTO> results = ticketService.searchTickets(1L, null, null, 50, false).getItems();
 
         // Assert
         assertFalse(results.isEmpty());
@@ -161,14 +286,278 @@ class TicketServiceTest {
     @Test
     void searchTickets_ByStatus() {
         // Arrange
-        when(ticketRepository.findByStatus(Ticket.Status.NEW)).thenReturn(Arrays.asList(testTicket));
+        when(ticketRepository.findFirstPageByStatus(eq(Ticket.Status.NEW), any(Pageable.class)))
+                .thenReturn(Arrays.asList(toDTO(testTicket)));
 
         // Act
-        List<TicketDTO> results = ticketService.searchTickets(null, Ticket.Status.NEW);
+        List<TicketDTO> results = ticketService.searchTickets(null, Ticket.Status.NEW, null, 50, false).getItems();
 
         // Assert
         assertFalse(results.isEmpty());
         assertEquals(1, results.size());
         assertEquals("Test Ticket", results.get(0).getTitle());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void getChangesSince_PagesUpToStableVersion() {
+        // Arrange
+        when(currentUserProvider.get()).thenReturn(new AuthenticatedUser(9L, "agent", "", "Agent", User.Role.IT_SUPPORT));
+        when(changeVersions.stable()).thenReturn(12L);
+        TicketDTO first = toDTO(testTicket);
+        first.setChangeVersion(11L);
+        TicketDTO second = toDTO(testTicket);
+        second.setId(2L);
+        second.setChangeVersion(12L);
+        when(ticketRepository.findFirstChangedPage(eq(10L), eq(12L), any(Pageable.class)))
+                .thenReturn(Arrays.asList(first, second));
+
+        // Act
+        TicketChangesDTO changes = ticketService.getChangesSince(10L, null, 1);
+
+        // Assert
+        assertEquals(List.of(first), changes.getItems());
+        assertEquals(12L, changes.getHighWaterMark());
+        ChangeCursor cursor = ChangeCursor.decode(changes.getNextCursor());
+        assertEquals(11L, cursor.getChangeVersion());
+        assertEquals(testTicket.getId(), cursor.getId());
+        assertEquals(12L, cursor.getHighWaterMark());
+    }
+
+    @Test
+    void getChangesSince_UnknownVersionIsGone() {
+        // Arrange
+        setupCurrentUser();
+        when(changeVersions.stable()).thenReturn(5L);
+
+        // Act & Assert
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> ticketService.getChangesSince(6L, null, 50));
+        assertEquals(HttpStatus.GONE, e.getStatusCode());
+    }
+
+    @Test
+    void searchTickets_ReturnsCursorWhenMoreRowsExist() {
+        // Arrange
+        Ticket older = new Ticket();
+        older.setId(2L);
+        older.setTitle("Older Ticket");
+        older.setDescription("Older Description");
+        older.setStatus(Ticket.Status.NEW);
+        older.setCreatedBy(testUser);
+        older.setCreationDate(testTicket.getCreationDate().minusMinutes(5));
+        when(ticketRepository.findFirstPageByStatus(eq(Ticket.Status.NEW), any(Pageable.class)))
+                .thenReturn(Arrays.asList(toDTO(testTicket), toDTO(older)));
+
+        // Act
+        CursorPage<TicketDTO> page = ticketService.searchTickets(null, Ticket.Status.NEW, null, 1, false);
+
+        // Assert
+        assertEquals(1, page.getItems().size());
+        assertNotNull(page.getNextCursor());
+        KeysetCursor cursor = KeysetCursor.decode(page.getNextCursor());
+        assertEquals(testTicket.getId(), cursor.getId());
+        assertEquals(testTicket.getCreationDate(), cursor.getTimestamp());
+    }
+
+    @Test
+    void searchTickets_IncludeArchivedMergesNewestFirst() {
+        // Arrange
+        Ticket archived = new Ticket();
+        archived.setId(2L);
+        archived.setTitle("Archived Ticket");
+        archived.setDescription("Archived Description");
+        archived.setStatus(Ticket.Status.RESOLVED);
+        archived.setCreatedBy(testUser);
+        archived.setCreationDate(testTicket.getCreationDate().minusDays(120));
+        Ticket older = new Ticket();
+        older.setId(3L);
+        older.setTitle("Older Archived Ticket");
+        older.setDescription("Older Description");
+        older.setStatus(Ticket.Status.RESOLVED);
+        older.setCreatedBy(testUser);
+        older.setCreationDate(testTicket.getCreationDate().minusDays(200));
+        when(ticketRepository.findFirstPage(any(Pageable.class))).thenReturn(List.of(toDTO(testTicket)));
+        when(archivedTicketRepository.findPage(any(), isNull(), eq(3)))
+                .thenReturn(List.of(toDTO(archived), toDTO(older)));
+
+        // Act
+        CursorPage<TicketDTO> page = ticketService.searchTickets(null, null, null, 2, true);
+
+        // Assert
+        assertEquals(2, page.getItems().size());
+        assertEquals(1L, page.getItems().get(0).getId());
+        assertEquals(2L, page.getItems().get(1).getId());
+        assertEquals(2L, KeysetCursor.decode(page.getNextCursor()).getId());
+    }
+
+    @Test
+    void fullTextSearch_KeepsRelevanceOrder() {
+        // Arrange
+        Ticket other = new Ticket();
+        other.setId(2L);
+        other.setTitle("Printer jam");
+        other.setDescription("Paper stuck");
+        other.setStatus(Ticket.Status.NEW);
+        other.setCreatedBy(testUser);
+        when(ticketSearchIndex.search("printer", 50)).thenReturn(List.of(2L, 1L));
+        when(ticketRepository.findDtosByIdIn(List.of(2L, 1L)))
+                .thenReturn(Arrays.asList(toDTO(testTicket), toDTO(other)));
+
+        // Act
+        List<TicketDTO> results = ticketService.fullTextSearch("printer", 50).getItems();
+
+        // Assert
+        assertEquals(2, results.size());
+        assertEquals(2L, results.get(0).getId());
+        assertEquals(1L, results.get(1).getId());
+    }
+
+    @Test
+    void filterTickets_EmployeeGetsSinglePushedDownQuery() {
+        // Arrange
+        setupCurrentUser();
+        TicketFilter filter = new TicketFilter();
+        filter.setStatus(Ticket.Status.NEW);
+        filter.setCreatedBy("someoneelse");
+        when(ticketRepository.findPage(any(), isNull(), eq(51))).thenReturn(List.of(toDTO(testTicket)));
+
+        // Act
+        CursorPage<TicketDTO> page = ticketService.filterTickets(filter, null, 50);
+
+        // Assert
+        assertEquals(1, page.getItems().size());
+        assertNull(page.getNextCursor());
+        // Employees are pinned to their own tickets, so the creator name is never resolved
+        verify(userRepository, never()).findByUsername(any());
+        verify(ticketRepository).findPage(any(), isNull(), eq(51));
+    }
+
+    @Test
+    void filterTickets_NoKeywordMatchesSkipsDatabase() {
+        // Arrange
+        testUser.setRole(User.Role.IT_SUPPORT);
+        setupCurrentUser();
+        TicketFilter filter = new TicketFilter();
+        filter.setQ("printer");
+        when(ticketSearchIndex.matches("printer")).thenReturn(List.of());
+
+        // Act
+        CursorPage<TicketDTO> page = ticketService.filterTickets(filter, null, 50);
+
+        // Assert
+        assertTrue(page.getItems().isEmpty());
+        verify(ticketRepository, never()).findPage(any(), any(), anyInt());
+    }
+
+    @Test
+    void filterTickets_FewKeywordMatchesGetOneKeysetQuery() {
+        // Arrange
+        testUser.setRole(User.Role.IT_SUPPORT);
+        setupCurrentUser();
+        TicketFilter filter = new TicketFilter();
+        filter.setQ("printer");
+        when(ticketSearchIndex.matches("printer")).thenReturn(List.of(1L, 2L, 3L));
+        TicketDTO newest = toDTO(testTicket);
+        newest.setId(3L);
+        TicketDTO middle = toDTO(testTicket);
+        middle.setId(2L);
+        TicketDTO oldest = toDTO(testTicket);
+        when(ticketRepository.findPage(any(), isNull(), eq(3))).thenReturn(List.of(newest, middle, oldest));
+
+        // Act
+        CursorPage<TicketDTO> page = ticketService.filterTickets(filter, null, 2);
+
+        // Assert
+        assertEquals(List.of(3L, 2L), page.getItems().stream().map(TicketDTO::getId).toList());
+        assertNotNull(page.getNextCursor());
+        verify(ticketRepository, times(1)).findPage(any(), any(), anyInt());
+    }
+
+    @Test
+    void filterTickets_ManyKeywordMatchesStopScanningOnceThePageIsFull() {
+        // Arrange
+        testUser.setRole(User.Role.IT_SUPPORT);
+        setupCurrentUser();
+        TicketFilter filter = new TicketFilter();
+        filter.setQ("printer");
+        List<Long> matches = new ArrayList<>();
+        for (long id = 1; id <= TicketService.MAX_KEYWORD_MATCHES + 1; id++) {
+            matches.add(id * 2);
+        }
+        when(ticketSearchIndex.matches("printer")).thenReturn(matches);
+        // Newest first: every other ticket matches, so the second batch fills the page
+        LocalDateTime now = LocalDateTime.now();
+        List<TicketDTO> first = new ArrayList<>();
+        List<TicketDTO> second = new ArrayList<>();
+        for (int i = 0; i < 2 * TicketService.KEYWORD_SCAN_BATCH; i++) {
+            TicketDTO dto = toDTO(testTicket);
+            dto.setId(i < TicketService.KEYWORD_SCAN_BATCH ? 10_000L + i : 2L * (i - TicketService.KEYWORD_SCAN_BATCH + 1));
+            dto.setCreationDate(now.minusMinutes(i));
+            (i < TicketService.KEYWORD_SCAN_BATCH ? first : second).add(dto);
+        }
+        TicketDTO lastOfFirst = first.get(first.size() - 1);
+        when(ticketRepository.findPage(any(), isNull(), eq(TicketService.KEYWORD_SCAN_BATCH))).thenReturn(first);
+        when(ticketRepository.findPage(any(),
+                eq(new KeysetCursor(lastOfFirst.getCreationDate(), lastOfFirst.getId())),
+                eq(TicketService.KEYWORD_SCAN_BATCH))).thenReturn(second);
+
+        // Act
+        CursorPage<TicketDTO> page = ticketService.filterTickets(filter, null, 2);
+
+        // Assert
+        assertEquals(List.of(2L, 4L), page.getItems().stream().map(TicketDTO::getId).toList());
+        assertNotNull(page.getNextCursor());
+        verify(ticketRepository, times(2)).findPage(any(), any(), anyInt());
+    }
+
+    @Test
+    void bulkUpdateStatus_UsesSetBasedUpdateAndRecordsAudit() {
+        // Arrange
+        testUser.setRole(User.Role.IT_SUPPORT);
+        setupCurrentUser();
+        Ticket resolved = new Ticket();
+        resolved.setId(2L);
+        resolved.setStatus(Ticket.Status.RESOLVED);
+        resolved.setCreatedBy(testUser);
+        when(ticketRepository.lockAllByIdIn(any())).thenReturn(List.of(testTicket, resolved));
+        when(changeVersions.next()).thenReturn(5L);
+        TicketDTO updated = toDTO(testTicket);
+        updated.setStatus(Ticket.Status.RESOLVED);
+        updated.setChangeVersion(5L);
+        when(ticketRepository.findDtosByIdIn(List.of(1L))).thenReturn(List.of(updated));
+
+        // Act
+        List<BulkStatusUpdateResult> results =
+                ticketService.bulkUpdateStatus(List.of(1L, 2L, 3L, 1L), Ticket.Status.RESOLVED);
+
+        // Assert
+        assertEquals(3, results.size());
+        assertEquals(BulkStatusUpdateResult.Outcome.UPDATED, results.get(0).getOutcome());
+        assertEquals(Ticket.Status.NEW, results.get(0).getPreviousStatus());
+        assertEquals(BulkStatusUpdateResult.Outcome.UNCHANGED, results.get(1).getOutcome());
+        assertEquals(BulkStatusUpdateResult.Outcome.NOT_FOUND, results.get(2).getOutcome());
+        verify(ticketRepository).updateStatusByIdIn(eq(List.of(1L)), eq(Ticket.Status.RESOLVED), any(LocalDateTime.class),
+                anyLong());
+        verify(auditTrail).record(1L, 1L, "STATUS_CHANGED", "NEW", "RESOLVED");
+        verifyNoMoreInteractions(auditTrail);
+        verify(eventPublisher).publishEvent(any(TicketChangedEvent.class));
+    }
+
+    @Test
+    void bulkUpdateStatus_ReportsOnlyRowsTheUpdateChanged() {
+        // Arrange
+        testUser.setRole(User.Role.IT_SUPPORT);
+        setupCurrentUser();
+        when(ticketRepository.lockAllByIdIn(any())).thenReturn(List.of(testTicket));
+        when(changeVersions.next()).thenReturn(5L);
+        when(ticketRepository.findDtosByIdIn(List.of(1L))).thenReturn(List.of(toDTO(testTicket)));
+
+        // Act
+        List<BulkStatusUpdateResult> results = ticketService.bulkUpdateStatus(List.of(1L), Ticket.Status.RESOLVED);
+
+        // Assert
+        assertEquals(BulkStatusUpdateResult.Outcome.UNCHANGED, results.get(0).getOutcome());
+        verifyNoInteractions(auditTrail);
+        verify(eventPublisher, never()).publishEvent(any(TicketChangedEvent.class));
+    }
+}
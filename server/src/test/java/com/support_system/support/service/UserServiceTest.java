@@ -1,7 +1,10 @@
 package com.support_system.support.service;
 
+import com.support.dto.UserDTO;
 import com.support.entity.User;
 import com.support.repository.UserRepository;
+import com.support.security.AuthenticatedUser;
+import com.support.security.CurrentUserProvider;
 import com.support.service.UserService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -28,6 +31,9 @@ class UserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private CurrentUserProvider currentUserProvider;
+
     @InjectMocks
     private UserService userService;
 
@@ -104,4 +110,21 @@ class UserServiceTest {
         verify(userRepository, never()).save(any(User.class));
         verify(passwordEncoder, never()).encode(any());
     }
-} 
\ No newline at end of file
+
+    @Test
+    void getCurrentUser_ResolvedFromPrincipalWithoutQuery() {
+        // Arrange
+        when(currentUserProvider.get()).thenReturn(new AuthenticatedUser(
+                1L, "testuser", "", "Test User", User.Role.EMPLOYEE));
+
+        // Act
+        UserDTO result = userService.getCurrentUser();
+
+        // Assert
+        assertEquals(1L, result.getId());
+        assertEquals("testuser", result.getUsername());
+        assertEquals("Test User", result.getFullName());
+        assertEquals(User.Role.EMPLOYEE, result.getRole());
+        verifyNoInteractions(userRepository);
+    }
+}
@@ -0,0 +1,81 @@
+package com.support_system.support.stats;
+
+import com.support.dto.TicketCount;
+import com.support.dto.TicketDTO;
+import com.support.dto.TicketStatsDTO;
+import com.support.entity.Ticket;
+import com.support.event.TicketChangedEvent;
+import com.support.repository.ArchivedTicketRepository;
+import com.support.repository.TicketRepository;
+import com.support.stats.TicketStatistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TicketStatisticsTest {
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private ArchivedTicketRepository archivedTicketRepository;
+
+    @InjectMocks
+    private TicketStatistics ticketStatistics;
+
+    private TicketDTO ticket(Ticket.Status status) {
+        TicketDTO dto = new TicketDTO();
+        dto.setId(1L);
+        dto.setStatus(status);
+        dto.setPriority(Ticket.Priority.HIGH);
+        dto.setCategory(Ticket.Category.NETWORK);
+        return dto;
+    }
+
+    @Test
+    void onTicketChanged_MovesCountBetweenStatuses() {
+        // Arrange
+        ticketStatistics.onTicketChanged(
+                new TicketChangedEvent(TicketChangedEvent.Type.CREATED, ticket(Ticket.Status.NEW), null));
+
+        // Act
+        ticketStatistics.onTicketChanged(new TicketChangedEvent(
+                TicketChangedEvent.Type.STATUS_CHANGED, ticket(Ticket.Status.IN_PROGRESS), Ticket.Status.NEW));
+        TicketStatsDTO stats = ticketStatistics.snapshot();
+
+        // Assert
+        assertEquals(1, stats.getTotal());
+        assertEquals(0L, stats.getByStatus().get(Ticket.Status.NEW));
+        assertEquals(1L, stats.getByStatus().get(Ticket.Status.IN_PROGRESS));
+        assertEquals(1L, stats.getByPriority().get(Ticket.Priority.HIGH));
+        assertEquals(1L, stats.getByCategory().get(Ticket.Category.NETWORK));
+    }
+
+    @Test
+    void reconcile_ReplacesDriftedCountersIncludingArchive() {
+        // Arrange
+        ticketStatistics.onTicketChanged(
+                new TicketChangedEvent(TicketChangedEvent.Type.CREATED, ticket(Ticket.Status.NEW), null));
+        when(ticketRepository.countByStatusPriorityCategory()).thenReturn(List.of(
+                new TicketCount(Ticket.Status.RESOLVED, Ticket.Priority.LOW, Ticket.Category.HARDWARE, 3L)));
+        when(archivedTicketRepository.countByStatusPriorityCategory()).thenReturn(List.of(
+                new TicketCount(Ticket.Status.RESOLVED, Ticket.Priority.LOW, Ticket.Category.HARDWARE, 2L)));
+
+        // Act
+        ticketStatistics.reconcile();
+        TicketStatsDTO stats = ticketStatistics.snapshot();
+
+        // Assert
+        assertEquals(5, stats.getTotal());
+        assertEquals(0L, stats.getByStatus().get(Ticket.Status.NEW));
+        assertEquals(5L, stats.getByStatus().get(Ticket.Status.RESOLVED));
+    }
+}
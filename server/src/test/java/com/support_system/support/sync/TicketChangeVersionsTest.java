@@ -0,0 +1,121 @@
+package com.support_system.support.sync;
+
+import com.support.entity.TicketChangeCounter;
+import com.support.repository.ArchivedTicketRepository;
+import com.support.repository.TicketChangeCounterRepository;
+import com.support.repository.TicketRepository;
+import com.support.sync.TicketChangeVersions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TicketChangeVersionsTest {
+
+    @Mock
+    private TicketChangeCounterRepository counterRepository;
+
+    @Mock
+    private TicketRepository ticketRepository;
+
+    @Mock
+    private ArchivedTicketRepository archivedTicketRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private TicketChangeVersions changeVersions;
+
+    @BeforeEach
+    void setUp() {
+        changeVersions = new TicketChangeVersions(counterRepository, ticketRepository, archivedTicketRepository,
+                new TransactionTemplate(transactionManager));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+    }
+
+    @Test
+    void createCounter_ContinuesAfterHighestStoredVersion() {
+        // Arrange
+        when(counterRepository.existsById(TicketChangeCounter.ID)).thenReturn(false);
+        when(ticketRepository.findMaxChangeVersion()).thenReturn(7L);
+        when(archivedTicketRepository.findMaxChangeVersion()).thenReturn(9L);
+
+        // Act
+        changeVersions.createCounter();
+
+        // Assert
+        verify(counterRepository).saveAndFlush(argThat(counter ->
+                counter.getId() == TicketChangeCounter.ID && counter.getLastVersion() == 9L));
+    }
+
+    @Test
+    void createCounter_LeavesAnExistingCounterAlone() {
+        // Arrange
+        when(counterRepository.existsById(TicketChangeCounter.ID)).thenReturn(true);
+
+        // Act
+        changeVersions.createCounter();
+
+        // Assert
+        verify(counterRepository, never()).saveAndFlush(any());
+        verifyNoInteractions(ticketRepository, archivedTicketRepository);
+    }
+
+    @Test
+    void createCounter_ToleratesAnotherServerCreatingItFirst() {
+        // Arrange
+        when(counterRepository.existsById(TicketChangeCounter.ID)).thenReturn(false);
+        when(counterRepository.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // Act & Assert
+        assertDoesNotThrow(() -> changeVersions.createCounter());
+    }
+
+    @Test
+    void next_IncrementsTheSharedCounter() {
+        // Arrange
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        when(counterRepository.findLastVersion(TicketChangeCounter.ID)).thenReturn(Optional.of(10L));
+
+        // Act
+        long version = changeVersions.next();
+
+        // Assert
+        assertEquals(10L, version);
+        verify(counterRepository).increment(TicketChangeCounter.ID);
+    }
+
+    @Test
+    void stable_IsTheCommittedCounterValue() {
+        // Arrange
+        when(counterRepository.findLastVersion(TicketChangeCounter.ID)).thenReturn(Optional.of(12L));
+
+        // Act & Assert
+        assertEquals(12L, changeVersions.stable());
+        verify(counterRepository, never()).increment(any());
+    }
+
+    @Test
+    void next_OutsideTransactionIsRejected() {
+        // Act & Assert
+        assertThrows(IllegalStateException.class, () -> changeVersions.next());
+        verifyNoInteractions(counterRepository);
+    }
+}